@@ -9,38 +9,119 @@ BEGIN
     END IF;
 END$$;
 
--- Create the questions table
-CREATE TABLE IF NOT EXISTS questions (
+-- Create the banks table (one independent question bank per customer)
+CREATE TABLE IF NOT EXISTS banks (
     id BIGSERIAL PRIMARY KEY,
+    name TEXT UNIQUE NOT NULL
+);
+
+-- Create the questions table, list-partitioned by bank so a bank's queries only scan its own partition
+CREATE TABLE IF NOT EXISTS questions (
+    id BIGSERIAL,
+    bank_id BIGINT NOT NULL REFERENCES banks(id),
     question_text TEXT NOT NULL,
     question_answer TEXT NOT NULL,
-    difficulty difficulty_level NOT NULL DEFAULT 'MEDIUM'
-);
+    difficulty difficulty_level NOT NULL DEFAULT 'MEDIUM',
+    PRIMARY KEY (bank_id, id)
+) PARTITION BY LIST (bank_id);
+
+-- Hibernate updates and deletes rows by id alone
+CREATE INDEX IF NOT EXISTS idx_questions_id ON questions(id);
 
--- Create the tags table
+-- Create the tags table (names are unique per bank)
 CREATE TABLE IF NOT EXISTS tags (
     id BIGSERIAL PRIMARY KEY,
-    name TEXT UNIQUE NOT NULL
+    bank_id BIGINT NOT NULL REFERENCES banks(id),
+    name TEXT NOT NULL,
+    UNIQUE (bank_id, name),
+    UNIQUE (bank_id, id)
 );
 
--- Create the question_tags junction table
+-- Create the question_tags junction table, partitioned like questions.
+-- Hibernate writes it without a bank, so bank_id defaults to the bank the
+-- application binds to the transaction; the foreign keys keep it consistent.
 CREATE TABLE IF NOT EXISTS question_tags (
-    question_id BIGINT REFERENCES questions(id) ON DELETE CASCADE,
-    tag_id BIGINT REFERENCES tags(id) ON DELETE CASCADE,
-    PRIMARY KEY (question_id, tag_id)
+    bank_id BIGINT NOT NULL DEFAULT current_setting('recalldev.bank_id')::BIGINT,
+    question_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    PRIMARY KEY (bank_id, question_id, tag_id),
+    FOREIGN KEY (bank_id, question_id) REFERENCES questions(bank_id, id) ON DELETE CASCADE,
+    FOREIGN KEY (bank_id, tag_id) REFERENCES tags(bank_id, id) ON DELETE CASCADE
+) PARTITION BY LIST (bank_id);
+
+CREATE INDEX IF NOT EXISTS idx_question_tags_question_id ON question_tags(question_id);
+CREATE INDEX IF NOT EXISTS idx_question_tags_tag_id ON question_tags(bank_id, tag_id);
+
+-- Banks without their own partitions share the default ones
+CREATE TABLE IF NOT EXISTS questions_default PARTITION OF questions DEFAULT;
+CREATE TABLE IF NOT EXISTS question_tags_default PARTITION OF question_tags DEFAULT;
+
+-- Creates a bank with its own questions and question_tags partitions
+CREATE OR REPLACE FUNCTION create_bank(bank_name TEXT) RETURNS BIGINT AS $$
+DECLARE
+    new_bank_id BIGINT;
+BEGIN
+    INSERT INTO banks (name) VALUES (bank_name) RETURNING id INTO new_bank_id;
+    EXECUTE format('CREATE TABLE questions_bank_%s PARTITION OF questions FOR VALUES IN (%s)',
+                   new_bank_id, new_bank_id);
+    EXECUTE format('CREATE TABLE question_tags_bank_%s PARTITION OF question_tags FOR VALUES IN (%s)',
+                   new_bank_id, new_bank_id);
+    RETURN new_bank_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Create the default bank (id 1), used by requests without an X-Bank-Id header
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM banks WHERE name = 'default') THEN
+        PERFORM create_bank('default');
+    END IF;
+END$$;
+
+-- Create the quiz_answers table (append-only, written in batches by quiz sessions; no FK, as question ids alone do not reference the partitioned questions key)
+CREATE TABLE IF NOT EXISTS quiz_answers (
+    id BIGSERIAL PRIMARY KEY,
+    session_id TEXT NOT NULL,
+    question_id BIGINT NOT NULL,
+    correct BOOLEAN NOT NULL,
+    latency_ms INT,
+    answered_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_quiz_answers_session_id ON quiz_answers(session_id);
+
+-- Create the question_attempts table (append-only attempt log, no FK so ingestion batches never fail on deleted questions)
+CREATE TABLE IF NOT EXISTS question_attempts (
+    id BIGSERIAL PRIMARY KEY,
+    question_id BIGINT NOT NULL,
+    correct BOOLEAN NOT NULL,
+    latency_ms INT,
+    attempted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_question_attempts_question_id ON question_attempts(question_id);
+
+-- Create the question_stats table (periodic checkpoint of the in-memory attempt counters)
+CREATE TABLE IF NOT EXISTS question_stats (
+    question_id BIGINT PRIMARY KEY,
+    attempts BIGINT NOT NULL DEFAULT 0,
+    correct_attempts BIGINT NOT NULL DEFAULT 0,
+    timed_attempts BIGINT NOT NULL DEFAULT 0,
+    total_latency_ms BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
 );
 
 -- Insert some sample data (optional)
-INSERT INTO tags (name) VALUES 
-    ('algorithms'),
-    ('data-structures'),
-    ('system-design'),
-    ('java'),
-    ('spring-boot')
-ON CONFLICT (name) DO NOTHING;
-
-INSERT INTO questions (question_text, question_answer, difficulty) VALUES 
-    ('What is the time complexity of binary search?', 'O(log n) - Binary search eliminates half of the search space in each iteration.', 'MEDIUM'),
-    ('Explain the difference between ArrayList and LinkedList in Java.', 'ArrayList uses dynamic arrays for storage with O(1) random access but O(n) insertion/deletion. LinkedList uses doubly-linked nodes with O(1) insertion/deletion but O(n) random access.', 'EASY'),
-    ('How would you design a URL shortener like bit.ly?', 'Key components: URL encoding/decoding service, database for mappings, caching layer, load balancer, analytics service. Use base62 encoding for short URLs and consider sharding for scale.', 'HARD')
+INSERT INTO tags (bank_id, name) VALUES 
+    (1, 'algorithms'),
+    (1, 'data-structures'),
+    (1, 'system-design'),
+    (1, 'java'),
+    (1, 'spring-boot')
+ON CONFLICT (bank_id, name) DO NOTHING;
+
+INSERT INTO questions (bank_id, question_text, question_answer, difficulty) VALUES 
+    (1, 'What is the time complexity of binary search?', 'O(log n) - Binary search eliminates half of the search space in each iteration.', 'MEDIUM'),
+    (1, 'Explain the difference between ArrayList and LinkedList in Java.', 'ArrayList uses dynamic arrays for storage with O(1) random access but O(n) insertion/deletion. LinkedList uses doubly-linked nodes with O(1) insertion/deletion but O(n) random access.', 'EASY'),
+    (1, 'How would you design a URL shortener like bit.ly?', 'Key components: URL encoding/decoding service, database for mappings, caching layer, load balancer, analytics service. Use base62 encoding for short URLs and consider sharding for scale.', 'HARD')
 ON CONFLICT DO NOTHING; 
\ No newline at end of file
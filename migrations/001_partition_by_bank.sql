@@ -0,0 +1,159 @@
+-- Migrates a database created by an init.sql from before question banks to the
+-- bank-partitioned schema: everything that exists is moved into the default bank (id 1).
+-- Question and tag ids are kept, and so are the id sequences, so quiz answers, attempts
+-- and question stats keep pointing at the same questions.
+--
+-- Run it once, with the application stopped:
+--   psql -v ON_ERROR_STOP=1 -d recall-dev -f migrations/001_partition_by_bank.sql
+-- It runs in one transaction; on any error nothing is changed.
+
+BEGIN;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'questions'::regclass) THEN
+        RAISE EXCEPTION 'questions is already partitioned by bank; nothing to migrate';
+    END IF;
+    IF to_regclass('banks') IS NOT NULL THEN
+        RAISE EXCEPTION 'banks already exists; expected a schema from before question banks';
+    END IF;
+END$$;
+
+-- quiz_answers used to reference questions(id), which the partitioned table no longer has unique
+ALTER TABLE IF EXISTS quiz_answers DROP CONSTRAINT IF EXISTS quiz_answers_question_id_fkey;
+
+-- Move the old tables aside. Their indexes and id sequences are renamed with them, so the
+-- new tables get the usual names (questions_pkey, questions_id_seq, ...).
+DO $$
+DECLARE
+    old_table TEXT;
+    old_index TEXT;
+    old_sequence TEXT;
+BEGIN
+    FOREACH old_table IN ARRAY ARRAY['question_tags', 'questions', 'tags'] LOOP
+        FOR old_index IN SELECT indexname FROM pg_indexes
+                         WHERE schemaname = current_schema() AND tablename = old_table LOOP
+            EXECUTE format('ALTER INDEX %I RENAME TO %I', old_index, old_index || '_old');
+        END LOOP;
+        IF old_table <> 'question_tags' THEN
+            old_sequence := pg_get_serial_sequence(old_table, 'id');
+            EXECUTE format('ALTER SEQUENCE %s RENAME TO %I', old_sequence, old_table || '_old_id_seq');
+        END IF;
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', old_table, old_table || '_old');
+    END LOOP;
+END$$;
+
+-- The new schema, as in init.sql
+CREATE TABLE banks (
+    id BIGSERIAL PRIMARY KEY,
+    name TEXT UNIQUE NOT NULL
+);
+
+CREATE TABLE questions (
+    id BIGSERIAL,
+    bank_id BIGINT NOT NULL REFERENCES banks(id),
+    question_text TEXT NOT NULL,
+    question_answer TEXT NOT NULL,
+    difficulty difficulty_level NOT NULL DEFAULT 'MEDIUM',
+    PRIMARY KEY (bank_id, id)
+) PARTITION BY LIST (bank_id);
+
+CREATE INDEX idx_questions_id ON questions(id);
+
+CREATE TABLE tags (
+    id BIGSERIAL PRIMARY KEY,
+    bank_id BIGINT NOT NULL REFERENCES banks(id),
+    name TEXT NOT NULL,
+    UNIQUE (bank_id, name),
+    UNIQUE (bank_id, id)
+);
+
+CREATE TABLE question_tags (
+    bank_id BIGINT NOT NULL DEFAULT current_setting('recalldev.bank_id')::BIGINT,
+    question_id BIGINT NOT NULL,
+    tag_id BIGINT NOT NULL,
+    PRIMARY KEY (bank_id, question_id, tag_id),
+    FOREIGN KEY (bank_id, question_id) REFERENCES questions(bank_id, id) ON DELETE CASCADE,
+    FOREIGN KEY (bank_id, tag_id) REFERENCES tags(bank_id, id) ON DELETE CASCADE
+) PARTITION BY LIST (bank_id);
+
+CREATE INDEX idx_question_tags_question_id ON question_tags(question_id);
+CREATE INDEX idx_question_tags_tag_id ON question_tags(bank_id, tag_id);
+
+CREATE TABLE questions_default PARTITION OF questions DEFAULT;
+CREATE TABLE question_tags_default PARTITION OF question_tags DEFAULT;
+
+CREATE OR REPLACE FUNCTION create_bank(bank_name TEXT) RETURNS BIGINT AS $$
+DECLARE
+    new_bank_id BIGINT;
+BEGIN
+    INSERT INTO banks (name) VALUES (bank_name) RETURNING id INTO new_bank_id;
+    EXECUTE format('CREATE TABLE questions_bank_%s PARTITION OF questions FOR VALUES IN (%s)',
+                   new_bank_id, new_bank_id);
+    EXECUTE format('CREATE TABLE question_tags_bank_%s PARTITION OF question_tags FOR VALUES IN (%s)',
+                   new_bank_id, new_bank_id);
+    RETURN new_bank_id;
+END;
+$$ LANGUAGE plpgsql;
+
+-- The default bank, with its own partitions, takes all existing data
+DO $$
+BEGIN
+    IF create_bank('default') <> 1 THEN
+        RAISE EXCEPTION 'the default bank must get id 1';
+    END IF;
+END$$;
+
+INSERT INTO questions (id, bank_id, question_text, question_answer, difficulty)
+SELECT id, 1, question_text, question_answer, difficulty FROM questions_old;
+
+INSERT INTO tags (id, bank_id, name)
+SELECT id, 1, name FROM tags_old;
+
+INSERT INTO question_tags (bank_id, question_id, tag_id)
+SELECT 1, question_id, tag_id FROM question_tags_old;
+
+-- Continue the old sequences rather than restarting after the highest id, so ids of deleted
+-- questions are not handed out again while stats and attempts still refer to them
+SELECT setval(pg_get_serial_sequence('questions', 'id'), last_value, is_called) FROM questions_old_id_seq;
+SELECT setval(pg_get_serial_sequence('tags', 'id'), last_value, is_called) FROM tags_old_id_seq;
+
+DROP TABLE question_tags_old;
+DROP TABLE questions_old;
+DROP TABLE tags_old;
+
+-- Tables added alongside banks; a database from before quiz sessions does not have them yet
+CREATE TABLE IF NOT EXISTS quiz_answers (
+    id BIGSERIAL PRIMARY KEY,
+    session_id TEXT NOT NULL,
+    question_id BIGINT NOT NULL,
+    correct BOOLEAN NOT NULL,
+    latency_ms INT,
+    answered_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_quiz_answers_session_id ON quiz_answers(session_id);
+
+CREATE TABLE IF NOT EXISTS question_attempts (
+    id BIGSERIAL PRIMARY KEY,
+    question_id BIGINT NOT NULL,
+    correct BOOLEAN NOT NULL,
+    latency_ms INT,
+    attempted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_question_attempts_question_id ON question_attempts(question_id);
+
+CREATE TABLE IF NOT EXISTS question_stats (
+    question_id BIGINT PRIMARY KEY,
+    attempts BIGINT NOT NULL DEFAULT 0,
+    correct_attempts BIGINT NOT NULL DEFAULT 0,
+    timed_attempts BIGINT NOT NULL DEFAULT 0,
+    total_latency_ms BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+COMMIT;
+
+-- Autovacuum does not analyze partitioned parents, so give the planner statistics now
+ANALYZE questions, tags, question_tags;
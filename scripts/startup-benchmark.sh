@@ -0,0 +1,94 @@
+#!/usr/bin/env bash
+#
+# Compares time-to-liveness, time-to-first-request and time-to-ready of the default boot
+# against the fast-startup mode (lazy init + Spring AOT + AppCDS archive). The first request
+# is a real API call, so it includes the beans that lazy initialization defers to it
+# (JPA repositories, controllers, Jackson); liveness alone creates none of them.
+#
+#   mvn -Pfast-startup package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Needs the database from docker-compose.yml (or DB_USERNAME/DB_PASSWORD/SPRING_DATASOURCE_URL)
+# so that the default mode can validate the schema and both modes can finish warmup.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${SERVER_PORT:-8080}"
+# Any answer from the API counts, including 404 for an empty database
+FIRST_REQUEST_PATH="${FIRST_REQUEST_PATH:-/api/questions/1}"
+TARGET="$(cd "$(dirname "$0")/.." && pwd)/target"
+CLASSPATH="$TARGET/recall-dev-0.0.1-SNAPSHOT.jar:$TARGET/fast-startup/lib/*"
+MAIN_CLASS="com.platform.recalldev.RecallDevApplication"
+
+if [[ ! -f "$TARGET/fast-startup/app.jsa" ]]; then
+    echo "Missing $TARGET/fast-startup/app.jsa, run: mvn -Pfast-startup package -DskipTests" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints the HTTP status of a GET, or 000 if nothing answered
+status_of() {
+    curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT$1" || true
+}
+
+# Starts the application with the given JVM options and prints
+# "<ms to liveness UP> <ms to first API response> <ms to readiness UP>"
+measure() {
+    local started pid live first_request ready status
+    started=$(now_ms)
+    java "$@" -Dserver.port="$PORT" -cp "$CLASSPATH" "$MAIN_CLASS" > /dev/null 2>&1 &
+    pid=$!
+    trap 'kill $pid 2>/dev/null || true' RETURN
+
+    until curl -sf "http://localhost:$PORT/actuator/health/liveness" > /dev/null; do
+        kill -0 "$pid" 2>/dev/null || { echo "application exited during startup" >&2; return 1; }
+        sleep 0.02
+    done
+    live=$(( $(now_ms) - started ))
+
+    while true; do
+        status=$(status_of "$FIRST_REQUEST_PATH")
+        [[ "$status" == 200 || "$status" == 404 ]] && break
+        kill -0 "$pid" 2>/dev/null || { echo "application exited before serving $FIRST_REQUEST_PATH" >&2; return 1; }
+        sleep 0.02
+    done
+    first_request=$(( $(now_ms) - started ))
+
+    until curl -sf "http://localhost:$PORT/actuator/health/readiness" > /dev/null; do
+        sleep 0.02
+    done
+    ready=$(( $(now_ms) - started ))
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$live $first_request $ready"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+benchmark() {
+    local label=$1
+    shift
+    local results=()
+    for ((run = 1; run <= RUNS; run++)); do
+        results+=("$(measure "$@")")
+    done
+    local live first ready
+    live=$(printf '%s\n' "${results[@]}" | cut -d' ' -f1 | median)
+    first=$(printf '%s\n' "${results[@]}" | cut -d' ' -f2 | median)
+    ready=$(printf '%s\n' "${results[@]}" | cut -d' ' -f3 | median)
+    printf '%-14s live %6d ms   first request %6d ms   ready %6d ms   (median of %d)\n' \
+        "$label" "$live" "$first" "$ready" "$RUNS"
+}
+
+benchmark "default"
+benchmark "fast-startup" \
+    -Dspring.profiles.active=fast-startup \
+    -Dspring.aot.enabled=true \
+    -XX:SharedArchiveFile="$TARGET/fast-startup/app.jsa"
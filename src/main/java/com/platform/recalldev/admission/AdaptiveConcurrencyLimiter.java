@@ -0,0 +1,110 @@
+package com.platform.recalldev.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limiter with a bounded wait queue whose limit adapts to measured
+ * latency (AIMD): a response slower than the latency target multiplies the limit
+ * by the backoff ratio, and a fast response while the limiter is at least half
+ * busy grows it by {@code 1 / limit}, i.e. about one permit per full window.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long queueTimeoutNanos;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private int queued;
+
+    public AdaptiveConcurrencyLimiter(AdmissionProperties.Limits limits) {
+        this.minLimit = limits.getMinLimit();
+        this.maxLimit = limits.getMaxLimit();
+        this.maxQueue = limits.getMaxQueue();
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(limits.getQueueTimeoutMs());
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(limits.getLatencyTargetMs());
+        this.backoffRatio = limits.getBackoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, limits.getInitialLimit()));
+    }
+
+    /**
+     * Takes a permit, waiting up to the queue timeout for one. Returns {@code false}
+     * if the queue is full or the wait timed out.
+     */
+    public boolean acquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (queued >= maxQueue) {
+                return false;
+            }
+            queued++;
+            try {
+                long remaining = queueTimeoutNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            // Judge utilisation by the concurrency the finished request ran at
+            int concurrency = inFlight--;
+            int previousLimit = (int) limit;
+            if (latencyNanos > latencyTargetNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else if (concurrency * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            if ((int) limit > previousLimit) {
+                permitReleased.signalAll();
+            } else {
+                permitReleased.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.platform.recalldev.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller, or a single handler method, into the bulkhead of its
+ * {@link CostClass}. A method annotation overrides the one on its class.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Admission {
+
+    CostClass value();
+
+    /**
+     * Name of a boolean request parameter that moves the request to
+     * {@link CostClass#HEAVY} when it binds to {@code true} ({@code true}, {@code on},
+     * {@code yes} or {@code 1}), e.g. {@code includeTags}.
+     */
+    String heavyIf() default "";
+}
@@ -0,0 +1,109 @@
+package com.platform.recalldev.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admits requests to {@link Admission}-annotated handlers through the bulkhead of
+ * their cost class, so heavy reports cannot take all the threads and database
+ * connections that cheap reads need. Requests that cannot get a permit in time
+ * are rejected with 503 and {@code Retry-After}.
+ */
+@Slf4j
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".limiter";
+    private static final String STARTED_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".started";
+    // Binds String to boolean like handler parameters do, so "1", "yes" and "on" are true as well
+    private static final ConversionService CONVERSION_SERVICE = DefaultConversionService.getSharedInstance();
+
+    private final Map<CostClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(CostClass.class);
+    private final String retryAfterSeconds;
+
+    public AdmissionInterceptor(AdmissionProperties properties) {
+        long longestTimeoutMs = 0;
+        for (CostClass costClass : CostClass.values()) {
+            AdmissionProperties.Limits limits = properties.limitsFor(costClass);
+            limiters.put(costClass, new AdaptiveConcurrencyLimiter(limits));
+            longestTimeoutMs = Math.max(longestTimeoutMs, limits.getQueueTimeoutMs());
+        }
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (longestTimeoutMs + 999) / 1000));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        CostClass costClass = classify(request, handler);
+        if (costClass == null) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(costClass);
+        boolean admitted;
+        try {
+            admitted = limiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            log.debug("Shedding {} request {} (limit {}, in flight {})",
+                    costClass, request.getRequestURI(), limiter.getLimit(), limiter.getInFlight());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            return false;
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object limiter = request.getAttribute(LIMITER_ATTRIBUTE);
+        if (limiter instanceof AdaptiveConcurrencyLimiter admitted) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            long started = (Long) request.getAttribute(STARTED_ATTRIBUTE);
+            admitted.release(System.nanoTime() - started);
+        }
+    }
+
+    private CostClass classify(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return null;
+        }
+        Admission admission = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Admission.class);
+        if (admission == null) {
+            admission = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Admission.class);
+        }
+        if (admission == null) {
+            return null;
+        }
+        if (!admission.heavyIf().isEmpty() && isTrue(request.getParameter(admission.heavyIf()))) {
+            return CostClass.HEAVY;
+        }
+        return admission.value();
+    }
+
+    private static boolean isTrue(String value) {
+        if (value == null) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(CONVERSION_SERVICE.convert(value, Boolean.class));
+        } catch (ConversionException e) {
+            // Not a boolean, so binding fails and the handler never runs
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.platform.recalldev.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "recalldev.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    private Map<CostClass, Limits> classes = new EnumMap<>(CostClass.class);
+
+    public Limits limitsFor(CostClass costClass) {
+        return classes.getOrDefault(costClass, new Limits());
+    }
+
+    @Data
+    public static class Limits {
+        /** Concurrency limit before any latency has been measured. */
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 100;
+        /** Requests allowed to wait for a permit; any more are rejected at once. */
+        private int maxQueue = 50;
+        private long queueTimeoutMs = 1000;
+        /** Responses slower than this shrink the limit. */
+        private long latencyTargetMs = 250;
+        /** Factor applied to the limit on each slow response. */
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,13 @@
+package com.platform.recalldev.admission;
+
+/**
+ * Cost classes used to put endpoints into separate bulkheads.
+ */
+public enum CostClass {
+    /** Single-row reads and writes. */
+    LIGHT,
+    /** Filtered listings whose size depends on the data. */
+    MEDIUM,
+    /** Whole-table fetches and unbounded scans. */
+    HEAVY
+}
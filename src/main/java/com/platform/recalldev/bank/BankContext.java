@@ -0,0 +1,34 @@
+package com.platform.recalldev.bank;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the question bank of the current request. The {@link BankInterceptor} binds
+ * it for every API request; threads without a bound bank fall back to the default.
+ */
+@Component
+public class BankContext {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private final BankProperties properties;
+
+    @Autowired
+    public BankContext(BankProperties properties) {
+        this.properties = properties;
+    }
+
+    public Long currentBankId() {
+        Long bankId = CURRENT.get();
+        return bankId != null ? bankId : properties.getDefaultId();
+    }
+
+    void bind(Long bankId) {
+        CURRENT.set(bankId);
+    }
+
+    void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,58 @@
+package com.platform.recalldev.bank;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Resolves the question bank from the request header and binds it to the
+ * {@link BankContext} for the rest of the request. Ids that are not in the
+ * {@code banks} table are answered with 404 before any repository call.
+ */
+public class BankInterceptor implements HandlerInterceptor {
+
+    private final BankContext bankContext;
+    private final BankRegistry bankRegistry;
+    private final BankProperties properties;
+
+    public BankInterceptor(BankContext bankContext, BankRegistry bankRegistry, BankProperties properties) {
+        this.bankContext = bankContext;
+        this.bankRegistry = bankRegistry;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String header = request.getHeader(properties.getHeader());
+        if (header == null || header.isBlank()) {
+            bankContext.bind(properties.getDefaultId());
+            return true;
+        }
+        long bankId = parseBankId(header);
+        if (!bankRegistry.exists(bankId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Bank " + bankId + " does not exist");
+        }
+        bankContext.bind(bankId);
+        return true;
+    }
+
+    private long parseBankId(String header) {
+        try {
+            long bankId = Long.parseLong(header.trim());
+            if (bankId < 1) {
+                throw new NumberFormatException();
+            }
+            return bankId;
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    properties.getHeader() + " must be a positive bank id");
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        bankContext.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.platform.recalldev.bank;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "recalldev.bank")
+public class BankProperties {
+
+    /** Request header carrying the id of the question bank to work in. */
+    private String header = "X-Bank-Id";
+
+    /** Bank used by requests without the header and by background jobs. */
+    private long defaultId = 1;
+
+    /** Shortest time between reloads of the bank ids when a request names an unknown bank. */
+    private Duration minRefreshInterval = Duration.ofSeconds(1);
+}
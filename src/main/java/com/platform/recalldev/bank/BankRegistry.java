@@ -0,0 +1,49 @@
+package com.platform.recalldev.bank;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Caches the ids in the {@code banks} table, so requests are checked against existing
+ * banks without a query each. An id the cache does not know reloads it, at most once
+ * per {@code recalldev.bank.min-refresh-interval}, so new banks are picked up without
+ * unknown ids turning every request into a query.
+ */
+@Component
+public class BankRegistry {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long minRefreshIntervalNanos;
+
+    private volatile Set<Long> bankIds = Set.of();
+    private long lastRefreshNanos;
+    private boolean refreshed;
+
+    @Autowired
+    public BankRegistry(JdbcTemplate jdbcTemplate, BankProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.minRefreshIntervalNanos = properties.getMinRefreshInterval().toNanos();
+    }
+
+    public boolean exists(long bankId) {
+        return bankIds.contains(bankId) || refreshAndCheck(bankId);
+    }
+
+    private synchronized boolean refreshAndCheck(long bankId) {
+        // Another request may have reloaded the ids while this one waited for the lock
+        if (bankIds.contains(bankId)) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (refreshed && now - lastRefreshNanos < minRefreshIntervalNanos) {
+            return false;
+        }
+        bankIds = Set.copyOf(jdbcTemplate.queryForList("SELECT id FROM banks", Long.class));
+        lastRefreshNanos = now;
+        refreshed = true;
+        return bankIds.contains(bankId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.platform.recalldev.bank;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Supplies the current bank as the Hibernate tenant id, so every JPQL and derived
+ * query on a {@code @TenantId} entity is restricted to that bank and new entities
+ * are stamped with it. Native queries are not filtered and pass the bank explicitly.
+ */
+@Component
+public class BankTenantIdentifierResolver implements CurrentTenantIdentifierResolver, HibernatePropertiesCustomizer {
+
+    private final BankContext bankContext;
+
+    @Autowired
+    public BankTenantIdentifierResolver(BankContext bankContext) {
+        this.bankContext = bankContext;
+    }
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return String.valueOf(bankContext.currentBankId());
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
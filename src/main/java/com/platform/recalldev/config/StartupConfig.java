@@ -0,0 +1,28 @@
+package com.platform.recalldev.config;
+
+import com.platform.recalldev.service.QuizAnswerRecorder;
+import com.platform.recalldev.service.QuizSessionStore;
+import com.platform.recalldev.service.StartupWarmup;
+import com.platform.recalldev.service.WarmupTask;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans that own scheduled flushes or background warmup must exist from the
+     * start even with {@code spring.main.lazy-initialization}, otherwise their
+     * {@code @Scheduled} methods would never be registered.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter backgroundWorkBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                StartupWarmup.class,
+                WarmupTask.class,
+                QuizAnswerRecorder.class,
+                QuizSessionStore.class
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package com.platform.recalldev.config;
+
+import com.platform.recalldev.service.StartupWarmup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the readiness probe down until the background warmup has loaded every
+ * in-memory index, so a new replica is not sent traffic it would answer from
+ * empty structures.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmup startupWarmup;
+
+    @Autowired
+    public WarmupHealthIndicator(StartupWarmup startupWarmup) {
+        this.startupWarmup = startupWarmup;
+    }
+
+    @Override
+    public Health health() {
+        return startupWarmup.isComplete()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "warmup in progress").build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.platform.recalldev.config;
+
+import com.platform.recalldev.admission.AdmissionInterceptor;
+import com.platform.recalldev.admission.AdmissionProperties;
+import com.platform.recalldev.bank.BankContext;
+import com.platform.recalldev.bank.BankInterceptor;
+import com.platform.recalldev.bank.BankProperties;
+import com.platform.recalldev.bank.BankRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@EnableConfigurationProperties({AdmissionProperties.class, BankProperties.class})
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdmissionProperties admissionProperties;
+    private final BankProperties bankProperties;
+    private final BankContext bankContext;
+    private final BankRegistry bankRegistry;
+
+    @Autowired
+    public WebConfig(AdmissionProperties admissionProperties, BankProperties bankProperties, BankContext bankContext,
+                     BankRegistry bankRegistry) {
+        this.admissionProperties = admissionProperties;
+        this.bankProperties = bankProperties;
+        this.bankContext = bankContext;
+        this.bankRegistry = bankRegistry;
+    }
+
+    @Bean
+    public AdmissionInterceptor admissionInterceptor() {
+        return new AdmissionInterceptor(admissionProperties);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Registered first so a malformed or unknown bank is rejected before it takes a bulkhead permit
+        registry.addInterceptor(new BankInterceptor(bankContext, bankRegistry, bankProperties)).addPathPatterns("/api/**");
+        if (admissionProperties.isEnabled()) {
+            registry.addInterceptor(admissionInterceptor()).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.platform.recalldev.controller;
+
+import com.platform.recalldev.service.AttemptIngestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/attempts")
+@CrossOrigin(origins = "*")
+@Tag(name = "Attempts", description = "API for recording answer attempts")
+public class AttemptController {
+    
+    private final AttemptIngestionService attemptIngestionService;
+    
+    @Autowired
+    public AttemptController(AttemptIngestionService attemptIngestionService) {
+        this.attemptIngestionService = attemptIngestionService;
+    }
+    
+    @PostMapping
+    @Operation(summary = "Record answer attempts", description = "Append one or more answer attempts; they are persisted asynchronously")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "All attempts accepted",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = IngestResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data, or attempts for questions outside the bank; none were accepted"),
+            @ApiResponse(responseCode = "503", description = "Ingestion buffer is full; retry the attempts that were not accepted")
+    })
+    public ResponseEntity<IngestResponse> recordAttempts(
+            @Parameter(description = "Attempts to record") @RequestBody List<@Valid AttemptRequest> requests) {
+        // Reject the whole request up front so a bad id never leaves it half buffered
+        List<Integer> unknownQuestionIds = requests.stream()
+                .map(AttemptRequest::getQuestionId)
+                .distinct()
+                .filter(questionId -> !attemptIngestionService.isKnownQuestion(questionId))
+                .toList();
+        if (!unknownQuestionIds.isEmpty()) {
+            return ResponseEntity.badRequest().body(new IngestResponse(0, unknownQuestionIds));
+        }
+        int accepted = 0;
+        for (AttemptRequest request : requests) {
+            AttemptIngestionService.RecordResult result = attemptIngestionService.record(
+                    request.getQuestionId(), request.isCorrect(), request.getLatencyMs());
+            if (result == AttemptIngestionService.RecordResult.UNKNOWN_QUESTION) {
+                // Deleted since the check above
+                return ResponseEntity.badRequest().body(new IngestResponse(accepted, List.of(request.getQuestionId())));
+            }
+            if (result == AttemptIngestionService.RecordResult.BUFFER_FULL) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(new IngestResponse(accepted, List.of()));
+            }
+            accepted++;
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new IngestResponse(accepted, List.of()));
+    }
+    
+    // DTO classes for request and response bodies
+    @Data
+    @Schema(description = "Request object for recording an answer attempt")
+    public static class AttemptRequest {
+        @Schema(description = "ID of the question that was attempted", example = "1")
+        @NotNull(message = "Question ID is required")
+        private Integer questionId;
+        
+        @Schema(description = "Whether the question was answered correctly", example = "false")
+        private boolean correct;
+        
+        @Schema(description = "Time taken to answer in milliseconds", example = "8200")
+        @Min(value = 0, message = "Latency cannot be negative")
+        private Integer latencyMs;
+    }
+    
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "Number of attempts accepted, in request order")
+    public static class IngestResponse {
+        private int accepted;
+        
+        @Schema(description = "Question ids that do not exist; attempts for them are never accepted")
+        private List<Integer> unknownQuestionIds;
+    }
+}
@@ -0,0 +1,37 @@
+package com.platform.recalldev.controller;
+
+import com.platform.recalldev.admission.Admission;
+import com.platform.recalldev.admission.CostClass;
+import com.platform.recalldev.service.QuestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/bank")
+@CrossOrigin(origins = "*")
+@Tag(name = "Banks", description = "API for the question bank selected by the X-Bank-Id header")
+public class BankController {
+    
+    private final QuestionService questionService;
+    
+    @Autowired
+    public BankController(QuestionService questionService) {
+        this.questionService = questionService;
+    }
+    
+    @DeleteMapping("/cache")
+    @Admission(CostClass.HEAVY)
+    @Operation(summary = "Evict bank cache", description = "Drop the bank's partition of the in-memory question index and reload it; other banks are unaffected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Cache partition reloaded")
+    })
+    public ResponseEntity<Void> evictCache() {
+        questionService.evictBankCache();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,6 +1,10 @@
 package com.platform.recalldev.controller;
 
+import com.platform.recalldev.admission.Admission;
+import com.platform.recalldev.admission.CostClass;
+import com.platform.recalldev.dto.QuestionDto;
 import com.platform.recalldev.entity.Question;
+import com.platform.recalldev.service.QuestionFacets;
 import com.platform.recalldev.service.QuestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,6 +29,7 @@ import java.util.Set;
 @RequestMapping("/api/questions")
 @CrossOrigin(origins = "*")
 @Tag(name = "Questions", description = "API for managing programming interview questions")
+@Admission(CostClass.LIGHT)
 public class QuestionController {
     
     private final QuestionService questionService;
@@ -35,66 +40,88 @@ public class QuestionController {
     }
     
     @GetMapping
+    @Admission(value = CostClass.MEDIUM, heavyIf = "includeTags")
     @Operation(summary = "Get all questions", description = "Retrieve all questions with optional tag inclusion")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved questions",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class)))
     })
-    public ResponseEntity<List<Question>> getAllQuestions(
+    public ResponseEntity<List<QuestionDto>> getAllQuestions(
             @Parameter(description = "Include tags in the response") 
             @RequestParam(required = false) boolean includeTags) {
         List<Question> questions = includeTags ? 
                 questionService.getAllQuestionsWithTags() : 
                 questionService.getAllQuestions();
-        return ResponseEntity.ok(questions);
+        return ResponseEntity.ok(QuestionDto.from(questions));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get question by ID", description = "Retrieve a specific question by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Question found",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class))),
             @ApiResponse(responseCode = "404", description = "Question not found")
     })
-    public ResponseEntity<Question> getQuestionById(
+    public ResponseEntity<QuestionDto> getQuestionById(
             @Parameter(description = "Question ID") @PathVariable Integer id,
             @Parameter(description = "Include tags in the response") 
             @RequestParam(required = false) boolean includeTags) {
         if (includeTags) {
             Question question = questionService.getQuestionByIdWithTags(id);
-            return question != null ? ResponseEntity.ok(question) : ResponseEntity.notFound().build();
+            return question != null ? ResponseEntity.ok(QuestionDto.from(question)) : ResponseEntity.notFound().build();
         } else {
             Optional<Question> question = questionService.getQuestionById(id);
-            return question.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+            return question.map(QuestionDto::summary).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
         }
     }
     
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get related questions", description = "Retrieve the questions whose tags overlap most with the given question")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Related questions retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class))),
+            @ApiResponse(responseCode = "400", description = "Limit is less than 1"),
+            @ApiResponse(responseCode = "404", description = "Question not found")
+    })
+    public ResponseEntity<List<QuestionDto>> getRelatedQuestions(
+            @Parameter(description = "Question ID") @PathVariable Integer id,
+            @Parameter(description = "Maximum number of related questions") 
+            @RequestParam(defaultValue = "5") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return questionService.getRelatedQuestions(id, limit)
+                .map(QuestionDto::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @PostMapping
     @Operation(summary = "Create a new question", description = "Create a new programming interview question")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Question created successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
-    public ResponseEntity<Question> createQuestion(
+    public ResponseEntity<QuestionDto> createQuestion(
             @Parameter(description = "Question data") @Valid @RequestBody QuestionRequest request) {
         Question question = questionService.createQuestion(
                 request.getQuestionText(),
                 request.getQuestionAnswer(),
                 request.getDifficulty()
         );
-        return ResponseEntity.status(HttpStatus.CREATED).body(question);
+        return ResponseEntity.status(HttpStatus.CREATED).body(QuestionDto.from(question));
     }
     
     @PutMapping("/{id}")
     @Operation(summary = "Update a question", description = "Update an existing question by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Question updated successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class))),
             @ApiResponse(responseCode = "404", description = "Question not found"),
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
-    public ResponseEntity<Question> updateQuestion(
+    public ResponseEntity<QuestionDto> updateQuestion(
             @Parameter(description = "Question ID") @PathVariable Integer id,
             @Parameter(description = "Updated question data") @Valid @RequestBody QuestionRequest request) {
         try {
@@ -104,7 +131,7 @@ public class QuestionController {
                     request.getQuestionAnswer(),
                     request.getDifficulty()
             );
-            return ResponseEntity.ok(question);
+            return ResponseEntity.ok(QuestionDto.from(question));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -123,67 +150,86 @@ public class QuestionController {
     }
     
     @GetMapping("/difficulty/{difficulty}")
+    @Admission(CostClass.MEDIUM)
     @Operation(summary = "Get questions by difficulty", description = "Retrieve questions filtered by difficulty level")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Questions retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class)))
     })
-    public ResponseEntity<List<Question>> getQuestionsByDifficulty(
+    public ResponseEntity<List<QuestionDto>> getQuestionsByDifficulty(
             @Parameter(description = "Difficulty level (EASY, MEDIUM, HARD)") 
             @PathVariable Question.DifficultyLevel difficulty) {
         List<Question> questions = questionService.getQuestionsByDifficulty(difficulty);
-        return ResponseEntity.ok(questions);
+        return ResponseEntity.ok(QuestionDto.from(questions));
     }
     
     @GetMapping("/search")
+    @Admission(CostClass.HEAVY)
     @Operation(summary = "Search questions", description = "Search questions by keyword in text or answer")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class)))
     })
-    public ResponseEntity<List<Question>> searchQuestions(
+    public ResponseEntity<List<QuestionDto>> searchQuestions(
             @Parameter(description = "Search keyword") @RequestParam String keyword) {
         List<Question> questions = questionService.searchQuestions(keyword);
-        return ResponseEntity.ok(questions);
+        return ResponseEntity.ok(QuestionDto.from(questions));
+    }
+    
+    @GetMapping("/facets")
+    @Admission(CostClass.MEDIUM)
+    @Operation(summary = "Get facet counts", description = "Count the questions matching a filter per difficulty level and per tag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Facet counts computed successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionFacets.class)))
+    })
+    public ResponseEntity<QuestionFacets> getFacets(
+            @Parameter(description = "Search keyword") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Only count questions having any of these tags") @RequestParam(required = false) List<String> tagNames,
+            @Parameter(description = "Only count questions of this difficulty level") @RequestParam(required = false) Question.DifficultyLevel difficulty) {
+        QuestionFacets facets = questionService.getFacets(keyword, tagNames, difficulty);
+        return ResponseEntity.ok(facets);
     }
     
     @GetMapping("/tag/{tagName}")
+    @Admission(CostClass.MEDIUM)
     @Operation(summary = "Get questions by tag", description = "Retrieve questions that have a specific tag")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Questions retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class)))
     })
-    public ResponseEntity<List<Question>> getQuestionsByTag(
+    public ResponseEntity<List<QuestionDto>> getQuestionsByTag(
             @Parameter(description = "Tag name") @PathVariable String tagName) {
         List<Question> questions = questionService.getQuestionsByTag(tagName);
-        return ResponseEntity.ok(questions);
+        return ResponseEntity.ok(QuestionDto.from(questions));
     }
     
     @GetMapping("/tags")
+    @Admission(CostClass.MEDIUM)
     @Operation(summary = "Get questions by multiple tags", description = "Retrieve questions that have any of the specified tags")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Questions retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class)))
     })
-    public ResponseEntity<List<Question>> getQuestionsByTags(
+    public ResponseEntity<List<QuestionDto>> getQuestionsByTags(
             @Parameter(description = "List of tag names") @RequestParam List<String> tagNames) {
         List<Question> questions = questionService.getQuestionsByTags(tagNames);
-        return ResponseEntity.ok(questions);
+        return ResponseEntity.ok(QuestionDto.from(questions));
     }
     
     @PostMapping("/{id}/tags/{tagName}")
     @Operation(summary = "Add tag to question", description = "Add a tag to an existing question")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tag added successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class))),
             @ApiResponse(responseCode = "404", description = "Question not found")
     })
-    public ResponseEntity<Question> addTagToQuestion(
+    public ResponseEntity<QuestionDto> addTagToQuestion(
             @Parameter(description = "Question ID") @PathVariable Integer id,
             @Parameter(description = "Tag name") @PathVariable String tagName) {
         try {
             Question question = questionService.addTagToQuestion(id, tagName);
-            return ResponseEntity.ok(question);
+            return ResponseEntity.ok(QuestionDto.from(question));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -193,15 +239,15 @@ public class QuestionController {
     @Operation(summary = "Remove tag from question", description = "Remove a tag from an existing question")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tag removed successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class))),
             @ApiResponse(responseCode = "404", description = "Question or tag not found")
     })
-    public ResponseEntity<Question> removeTagFromQuestion(
+    public ResponseEntity<QuestionDto> removeTagFromQuestion(
             @Parameter(description = "Question ID") @PathVariable Integer id,
             @Parameter(description = "Tag name") @PathVariable String tagName) {
         try {
             Question question = questionService.removeTagFromQuestion(id, tagName);
-            return ResponseEntity.ok(question);
+            return ResponseEntity.ok(QuestionDto.from(question));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -211,15 +257,15 @@ public class QuestionController {
     @Operation(summary = "Set question tags", description = "Replace all tags for a question with the provided set")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tags updated successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Question.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = QuestionDto.class))),
             @ApiResponse(responseCode = "404", description = "Question not found")
     })
-    public ResponseEntity<Question> setQuestionTags(
+    public ResponseEntity<QuestionDto> setQuestionTags(
             @Parameter(description = "Question ID") @PathVariable Integer id,
             @Parameter(description = "Set of tag names") @RequestBody Set<String> tagNames) {
         try {
             Question question = questionService.setQuestionTags(id, tagNames);
-            return ResponseEntity.ok(question);
+            return ResponseEntity.ok(QuestionDto.from(question));
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,206 @@
+package com.platform.recalldev.controller;
+
+import com.platform.recalldev.entity.Question;
+import com.platform.recalldev.service.QuizSession;
+import com.platform.recalldev.service.QuizSessionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/quiz-sessions")
+@CrossOrigin(origins = "*")
+@Tag(name = "Quiz Sessions", description = "API for running quizzes over a server-side deck of questions")
+public class QuizSessionController {
+    
+    private final QuizSessionService quizSessionService;
+    
+    @Autowired
+    public QuizSessionController(QuizSessionService quizSessionService) {
+        this.quizSessionService = quizSessionService;
+    }
+    
+    @PostMapping
+    @Operation(summary = "Start a quiz session", description = "Pick a shuffled deck of questions matching the given tags and difficulty")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Quiz session created",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid quiz size")
+    })
+    public ResponseEntity<SessionResponse> createSession(
+            @Parameter(description = "Deck selection") @Valid @RequestBody SessionRequest request) {
+        try {
+            QuizSession session = quizSessionService.createSession(
+                    request.getTagNames(),
+                    request.getDifficulty(),
+                    request.getSize()
+            );
+            return ResponseEntity.status(HttpStatus.CREATED).body(SessionResponse.of(session));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/{sessionId}")
+    @Operation(summary = "Get quiz session progress", description = "Retrieve the progress of a running quiz session")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quiz session found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Quiz session not found")
+    })
+    public ResponseEntity<SessionResponse> getSession(
+            @Parameter(description = "Quiz session ID") @PathVariable String sessionId) {
+        return quizSessionService.getSession(sessionId)
+                .map(SessionResponse::of)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/{sessionId}/next")
+    @Operation(summary = "Get the next card", description = "Retrieve the question the session is waiting on, without its answer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Next card",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CardResponse.class))),
+            @ApiResponse(responseCode = "204", description = "No questions left"),
+            @ApiResponse(responseCode = "404", description = "Quiz session not found")
+    })
+    public ResponseEntity<CardResponse> nextCard(
+            @Parameter(description = "Quiz session ID") @PathVariable String sessionId) {
+        try {
+            Optional<QuizSession.Card> card = quizSessionService.nextCard(sessionId);
+            return card.map(CardResponse::of)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.noContent().build());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/{sessionId}/answer")
+    @Operation(summary = "Answer the current card", description = "Record the result for the current card and reveal its answer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Answer recorded",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AnswerResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Quiz session not found"),
+            @ApiResponse(responseCode = "409", description = "Question is not the current card of the session")
+    })
+    public ResponseEntity<AnswerResponse> answer(
+            @Parameter(description = "Quiz session ID") @PathVariable String sessionId,
+            @Parameter(description = "Answer data") @Valid @RequestBody AnswerRequest request) {
+        try {
+            QuizSession.Card card = quizSessionService.answer(
+                    sessionId,
+                    request.getQuestionId(),
+                    request.isCorrect(),
+                    request.getLatencyMs()
+            );
+            return ResponseEntity.ok(new AnswerResponse(request.getQuestionId(),
+                    card != null ? card.getQuestionAnswer() : null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    @PostMapping("/{sessionId}/finish")
+    @Operation(summary = "Finish a quiz session", description = "Record all answers of the session and release it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quiz session finished",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Quiz session not found")
+    })
+    public ResponseEntity<SessionResponse> finishSession(
+            @Parameter(description = "Quiz session ID") @PathVariable String sessionId) {
+        try {
+            QuizSession session = quizSessionService.finishSession(sessionId);
+            return ResponseEntity.ok(SessionResponse.of(session));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    // DTO classes for request and response bodies
+    @Data
+    @Schema(description = "Request object for starting a quiz session")
+    public static class SessionRequest {
+        @Schema(description = "Only pick questions having any of these tags", example = "[\"algorithms\", \"java\"]")
+        private List<String> tagNames;
+        
+        @Schema(description = "Only pick questions of this difficulty", example = "MEDIUM")
+        private Question.DifficultyLevel difficulty;
+        
+        @Schema(description = "Number of questions in the quiz", example = "20")
+        @Min(value = 1, message = "Quiz size must be at least 1")
+        private int size = 20;
+    }
+    
+    @Data
+    @Schema(description = "Request object for answering the current card")
+    public static class AnswerRequest {
+        @Schema(description = "ID of the question being answered", example = "1")
+        @NotNull(message = "Question ID is required")
+        private Integer questionId;
+        
+        @Schema(description = "Whether the question was answered correctly", example = "true")
+        private boolean correct;
+        
+        @Schema(description = "Time taken to answer in milliseconds", example = "5400")
+        @Min(value = 0, message = "Latency cannot be negative")
+        private Integer latencyMs;
+    }
+    
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "Progress of a quiz session")
+    public static class SessionResponse {
+        private String sessionId;
+        private int totalQuestions;
+        private int answered;
+        private int correct;
+        
+        static SessionResponse of(QuizSession session) {
+            synchronized (session) {
+                return new SessionResponse(session.getId(), session.size(),
+                        session.getAnsweredCount(), session.getCorrectCount());
+            }
+        }
+    }
+    
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "A question card without its answer")
+    public static class CardResponse {
+        private Integer questionId;
+        private String questionText;
+        private Question.DifficultyLevel difficulty;
+        
+        static CardResponse of(QuizSession.Card card) {
+            return new CardResponse(card.getQuestionId(), card.getQuestionText(), card.getDifficulty());
+        }
+    }
+    
+    @Data
+    @AllArgsConstructor
+    @Schema(description = "Result of answering a card")
+    public static class AnswerResponse {
+        private Integer questionId;
+        private String questionAnswer;
+    }
+}
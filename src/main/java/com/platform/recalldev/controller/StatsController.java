@@ -0,0 +1,79 @@
+package com.platform.recalldev.controller;
+
+import com.platform.recalldev.admission.Admission;
+import com.platform.recalldev.admission.CostClass;
+import com.platform.recalldev.service.AttemptIngestionService;
+import com.platform.recalldev.service.AttemptStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+@Tag(name = "Stats", description = "API for answer accuracy statistics")
+public class StatsController {
+    
+    private final AttemptIngestionService attemptIngestionService;
+    
+    @Autowired
+    public StatsController(AttemptIngestionService attemptIngestionService) {
+        this.attemptIngestionService = attemptIngestionService;
+    }
+    
+    @GetMapping("/questions/{id}")
+    @Operation(summary = "Get question stats", description = "Retrieve attempt count, accuracy and average latency of a question")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AttemptStats.class))),
+            @ApiResponse(responseCode = "404", description = "No attempts recorded for the question")
+    })
+    public ResponseEntity<AttemptStats> getQuestionStats(
+            @Parameter(description = "Question ID") @PathVariable Integer id) {
+        return attemptIngestionService.getQuestionStats(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/tags")
+    @Admission(CostClass.MEDIUM)
+    @Operation(summary = "Get stats per tag", description = "Retrieve attempt count, accuracy and average latency for every tag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AttemptStats.class)))
+    })
+    public ResponseEntity<List<AttemptStats>> getStatsByTag() {
+        return ResponseEntity.ok(attemptIngestionService.getStatsByTag());
+    }
+    
+    @GetMapping("/tags/{tagName}")
+    @Operation(summary = "Get tag stats", description = "Retrieve attempt count, accuracy and average latency of the questions with a tag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AttemptStats.class)))
+    })
+    public ResponseEntity<AttemptStats> getTagStats(
+            @Parameter(description = "Tag name") @PathVariable String tagName) {
+        return ResponseEntity.ok(attemptIngestionService.getTagStats(tagName));
+    }
+    
+    @GetMapping("/difficulty")
+    @Admission(CostClass.MEDIUM)
+    @Operation(summary = "Get stats per difficulty", description = "Retrieve attempt count, accuracy and average latency for each difficulty level")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AttemptStats.class)))
+    })
+    public ResponseEntity<List<AttemptStats>> getStatsByDifficulty() {
+        return ResponseEntity.ok(attemptIngestionService.getStatsByDifficulty());
+    }
+}
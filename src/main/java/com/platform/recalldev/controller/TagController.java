@@ -1,5 +1,8 @@
 package com.platform.recalldev.controller;
 
+import com.platform.recalldev.admission.Admission;
+import com.platform.recalldev.admission.CostClass;
+import com.platform.recalldev.dto.TagDto;
 import com.platform.recalldev.entity.Tag;
 import com.platform.recalldev.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,12 +20,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tags")
 @CrossOrigin(origins = "*")
 @io.swagger.v3.oas.annotations.tags.Tag(name = "Tags", description = "API for managing question tags")
+@Admission(CostClass.LIGHT)
 public class TagController {
     
     private final TagService tagService;
@@ -33,65 +38,69 @@ public class TagController {
     }
     
     @GetMapping
+    @Admission(value = CostClass.MEDIUM, heavyIf = "includeQuestions")
     @Operation(summary = "Get all tags", description = "Retrieve all tags with optional question inclusion")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved tags",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class)))
     })
-    public ResponseEntity<List<Tag>> getAllTags(
+    public ResponseEntity<List<TagDto>> getAllTags(
             @Parameter(description = "Include questions in the response") 
             @RequestParam(required = false) boolean includeQuestions) {
-        List<Tag> tags = includeQuestions ? 
-                tagService.getAllTagsWithQuestions() : 
-                tagService.getAllTags();
-        return ResponseEntity.ok(tags);
+        List<Tag> tags = tagService.getAllTags();
+        if (!includeQuestions) {
+            return ResponseEntity.ok(TagDto.from(tags));
+        }
+        Map<Integer, List<Integer>> questionIdsByTag = tagService.getQuestionIdsByTag();
+        return ResponseEntity.ok(tags.stream()
+                .map(tag -> TagDto.withQuestionIds(tag, questionIdsByTag.getOrDefault(tag.getId(), List.of())))
+                .toList());
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get tag by ID", description = "Retrieve a specific tag by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tag found",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class))),
             @ApiResponse(responseCode = "404", description = "Tag not found")
     })
-    public ResponseEntity<Tag> getTagById(
+    public ResponseEntity<TagDto> getTagById(
             @Parameter(description = "Tag ID") @PathVariable Integer id,
             @Parameter(description = "Include questions in the response") 
             @RequestParam(required = false) boolean includeQuestions) {
+        Optional<Tag> tag = tagService.getTagById(id);
         if (includeQuestions) {
-            Tag tag = tagService.getTagByIdWithQuestions(id);
-            return tag != null ? ResponseEntity.ok(tag) : ResponseEntity.notFound().build();
-        } else {
-            Optional<Tag> tag = tagService.getTagById(id);
-            return tag.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+            return tag.map(found -> TagDto.withQuestionIds(found, tagService.getQuestionIds(id)))
+                    .map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
         }
+        return tag.map(TagDto::summary).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/name/{name}")
     @Operation(summary = "Get tag by name", description = "Retrieve a specific tag by its name")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tag found",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class))),
             @ApiResponse(responseCode = "404", description = "Tag not found")
     })
-    public ResponseEntity<Tag> getTagByName(
+    public ResponseEntity<TagDto> getTagByName(
             @Parameter(description = "Tag name") @PathVariable String name) {
         Optional<Tag> tag = tagService.getTagByName(name);
-        return tag.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        return tag.map(TagDto::summary).map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
     
     @PostMapping
     @Operation(summary = "Create a new tag", description = "Create a new tag for categorizing questions")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Tag created successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data or tag already exists")
     })
-    public ResponseEntity<Tag> createTag(
+    public ResponseEntity<TagDto> createTag(
             @Parameter(description = "Tag data") @Valid @RequestBody TagRequest request) {
         try {
             Tag tag = tagService.createTag(request.getName());
-            return ResponseEntity.status(HttpStatus.CREATED).body(tag);
+            return ResponseEntity.status(HttpStatus.CREATED).body(TagDto.summary(tag));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -101,16 +110,16 @@ public class TagController {
     @Operation(summary = "Update a tag", description = "Update an existing tag by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tag updated successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class))),
             @ApiResponse(responseCode = "404", description = "Tag not found"),
             @ApiResponse(responseCode = "400", description = "Invalid input data or tag name already exists")
     })
-    public ResponseEntity<Tag> updateTag(
+    public ResponseEntity<TagDto> updateTag(
             @Parameter(description = "Tag ID") @PathVariable Integer id,
             @Parameter(description = "Updated tag data") @Valid @RequestBody TagRequest request) {
         try {
             Tag tag = tagService.updateTag(id, request.getName());
-            return ResponseEntity.ok(tag);
+            return ResponseEntity.ok(TagDto.summary(tag));
         } catch (RuntimeException e) {
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
@@ -133,37 +142,40 @@ public class TagController {
     }
     
     @GetMapping("/search")
+    @Admission(CostClass.MEDIUM)
     @Operation(summary = "Search tags", description = "Search tags by keyword in name")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class)))
     })
-    public ResponseEntity<List<Tag>> searchTags(
+    public ResponseEntity<List<TagDto>> searchTags(
             @Parameter(description = "Search keyword") @RequestParam String keyword) {
         List<Tag> tags = tagService.searchTags(keyword);
-        return ResponseEntity.ok(tags);
+        return ResponseEntity.ok(TagDto.from(tags));
     }
     
     @GetMapping("/with-questions")
+    @Admission(CostClass.MEDIUM)
     @Operation(summary = "Get tags with questions", description = "Retrieve tags that have at least one question")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tags retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class)))
     })
-    public ResponseEntity<List<Tag>> getTagsWithQuestions() {
+    public ResponseEntity<List<TagDto>> getTagsWithQuestions() {
         List<Tag> tags = tagService.getTagsWithQuestions();
-        return ResponseEntity.ok(tags);
+        return ResponseEntity.ok(TagDto.from(tags));
     }
     
     @GetMapping("/without-questions")
+    @Admission(CostClass.MEDIUM)
     @Operation(summary = "Get tags without questions", description = "Retrieve tags that have no questions")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tags retrieved successfully",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Tag.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TagDto.class)))
     })
-    public ResponseEntity<List<Tag>> getTagsWithoutQuestions() {
+    public ResponseEntity<List<TagDto>> getTagsWithoutQuestions() {
         List<Tag> tags = tagService.getTagsWithoutQuestions();
-        return ResponseEntity.ok(tags);
+        return ResponseEntity.ok(TagDto.from(tags));
     }
     
     // DTO class for request body
@@ -0,0 +1,56 @@
+package com.platform.recalldev.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.platform.recalldev.entity.Question;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A question, with its tags when they were fetched")
+public class QuestionDto {
+
+    private Integer id;
+    private String questionText;
+    private String questionAnswer;
+    private Question.DifficultyLevel difficulty;
+    private List<TagDto> tags;
+
+    /**
+     * Maps the question and, only if they are already loaded, its tags. Never
+     * triggers a lazy load, so it is safe outside the service transaction.
+     */
+    public static QuestionDto from(Question question) {
+        QuestionDto dto = summary(question);
+        if (question.getTags() != null && Hibernate.isInitialized(question.getTags())) {
+            dto.setTags(question.getTags().stream()
+                    .map(TagDto::summary)
+                    .sorted(Comparator.comparing(TagDto::getName))
+                    .toList());
+        }
+        return dto;
+    }
+
+    public static QuestionDto summary(Question question) {
+        return QuestionDto.builder()
+                .id(question.getId())
+                .questionText(question.getQuestionText())
+                .questionAnswer(question.getQuestionAnswer())
+                .difficulty(question.getDifficulty())
+                .build();
+    }
+
+    public static List<QuestionDto> from(List<Question> questions) {
+        return questions.stream().map(QuestionDto::from).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.platform.recalldev.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.platform.recalldev.entity.Question;
+import com.platform.recalldev.entity.Tag;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Hibernate;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A tag, with the ids of its questions when they were fetched")
+public class TagDto {
+
+    private Integer id;
+    private String name;
+    private List<Integer> questionIds;
+
+    /**
+     * Maps the tag and, only if they are already loaded, the ids of its questions.
+     * Never triggers a lazy load, so it is safe outside the service transaction.
+     */
+    public static TagDto from(Tag tag) {
+        TagDto dto = summary(tag);
+        if (tag.getQuestions() != null && Hibernate.isInitialized(tag.getQuestions())) {
+            dto.setQuestionIds(tag.getQuestions().stream()
+                    .map(Question::getId)
+                    .sorted()
+                    .toList());
+        }
+        return dto;
+    }
+
+    public static TagDto withQuestionIds(Tag tag, List<Integer> questionIds) {
+        TagDto dto = summary(tag);
+        dto.setQuestionIds(questionIds);
+        return dto;
+    }
+
+    public static TagDto summary(Tag tag) {
+        return TagDto.builder()
+                .id(tag.getId())
+                .name(tag.getName())
+                .build();
+    }
+
+    public static List<TagDto> from(List<Tag> tags) {
+        return tags.stream().map(TagDto::from).toList();
+    }
+}
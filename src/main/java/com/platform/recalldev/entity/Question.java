@@ -1,10 +1,13 @@
 package com.platform.recalldev.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
 
 
 import java.util.HashSet;
@@ -12,6 +15,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "questions")
+@NamedEntityGraph(name = Question.SUMMARY_GRAPH)
+@NamedEntityGraph(name = Question.WITH_TAGS_GRAPH, attributeNodes = @NamedAttributeNode("tags"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,10 +24,20 @@ import java.util.Set;
 @Builder
 public class Question {
     
+    // Fetch plans for the read use cases, applied with @EntityGraph in QuestionRepository
+    public static final String SUMMARY_GRAPH = "Question.summary";
+    public static final String WITH_TAGS_GRAPH = "Question.withTags";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
     
+    // Partition key of questions and question_tags; set from the current bank on insert
+    @TenantId
+    @JsonIgnore
+    @Column(name = "bank_id", nullable = false, updatable = false)
+    private Long bankId;
+    
     @NotBlank(message = "Question text is required")
     @Column(name = "question_text", nullable = false, columnDefinition = "TEXT")
     private String questionText;
@@ -43,6 +58,7 @@ public class Question {
             inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
     @JsonManagedReference
+    @BatchSize(size = 100)
     private Set<Tag> tags = new HashSet<>();
 
 
@@ -0,0 +1,32 @@
+package com.platform.recalldev.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "question_attempts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionAttempt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "question_id", nullable = false)
+    private Integer questionId;
+
+    @Column(nullable = false)
+    private boolean correct;
+
+    @Column(name = "latency_ms")
+    private Integer latencyMs;
+
+    @Column(name = "attempted_at", nullable = false)
+    private Instant attemptedAt;
+}
@@ -0,0 +1,35 @@
+package com.platform.recalldev.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "question_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuestionStats {
+
+    @Id
+    @Column(name = "question_id")
+    private Integer questionId;
+
+    @Column(nullable = false)
+    private long attempts;
+
+    @Column(name = "correct_attempts", nullable = false)
+    private long correctAttempts;
+
+    @Column(name = "timed_attempts", nullable = false)
+    private long timedAttempts;
+
+    @Column(name = "total_latency_ms", nullable = false)
+    private long totalLatencyMs;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,35 @@
+package com.platform.recalldev.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "quiz_answers")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAnswer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false, columnDefinition = "TEXT")
+    private String sessionId;
+
+    @Column(name = "question_id", nullable = false)
+    private Integer questionId;
+
+    @Column(nullable = false)
+    private boolean correct;
+
+    @Column(name = "latency_ms")
+    private Integer latencyMs;
+
+    @Column(name = "answered_at", nullable = false)
+    private Instant answeredAt;
+}
@@ -1,15 +1,18 @@
 package com.platform.recalldev.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.TenantId;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", uniqueConstraints = @UniqueConstraint(columnNames = {"bank_id", "name"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,12 +24,19 @@ public class Tag {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
     
+    // Tag names are unique per bank; set from the current bank on insert
+    @TenantId
+    @JsonIgnore
+    @Column(name = "bank_id", nullable = false, updatable = false)
+    private Long bankId;
+    
     @NotBlank(message = "Tag name is required")
-    @Column(nullable = false, unique = true, columnDefinition = "TEXT")
+    @Column(nullable = false, columnDefinition = "TEXT")
     private String name;
 
     @ManyToMany(mappedBy = "tags")
     @JsonBackReference
+    @BatchSize(size = 100)
     private Set<Question> questions = new HashSet<>();
     
     // Helper methods
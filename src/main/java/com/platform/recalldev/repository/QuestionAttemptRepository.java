@@ -0,0 +1,9 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuestionAttempt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuestionAttemptRepository extends JpaRepository<QuestionAttempt, Long>, QuestionAttemptRepositoryCustom {
+}
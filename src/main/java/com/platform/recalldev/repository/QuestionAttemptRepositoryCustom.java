@@ -0,0 +1,14 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuestionAttempt;
+
+import java.util.Collection;
+
+public interface QuestionAttemptRepositoryCustom {
+
+    /**
+     * Appends all attempts with a single JDBC batch, rewritten into multi-row
+     * inserts by the driver's {@code reWriteBatchedInserts} option.
+     */
+    void insertAll(Collection<QuestionAttempt> attempts);
+}
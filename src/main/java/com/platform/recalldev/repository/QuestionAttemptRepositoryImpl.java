@@ -0,0 +1,42 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuestionAttempt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class QuestionAttemptRepositoryImpl implements QuestionAttemptRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO question_attempts (question_id, correct, latency_ms, attempted_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public QuestionAttemptRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(Collection<QuestionAttempt> attempts) {
+        if (attempts.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(attempts.size());
+        for (QuestionAttempt attempt : attempts) {
+            rows.add(new Object[]{
+                    attempt.getQuestionId(),
+                    attempt.isCorrect(),
+                    attempt.getLatencyMs(),
+                    Timestamp.from(attempt.getAttemptedAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows,
+                new int[]{Types.INTEGER, Types.BOOLEAN, Types.INTEGER, Types.TIMESTAMP});
+    }
+}
@@ -1,34 +1,137 @@
 package com.platform.recalldev.repository;
 
 import com.platform.recalldev.entity.Question;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<Question, Integer> {
     
+    @Override
+    @EntityGraph(Question.SUMMARY_GRAPH)
+    List<Question> findAll();
+    
+    // A query rather than EntityManager.find, so the current bank's tenant filter applies
+    @Override
+    @Query("SELECT q FROM Question q WHERE q.id = :id")
+    Optional<Question> findById(@Param("id") Integer id);
+    
+    @EntityGraph(Question.WITH_TAGS_GRAPH)
     List<Question> findByDifficulty(Question.DifficultyLevel difficulty);
     
     List<Question> findByQuestionTextContainingIgnoreCase(String keyword);
     
     List<Question> findByQuestionAnswerContainingIgnoreCase(String keyword);
     
+    @EntityGraph(Question.WITH_TAGS_GRAPH)
     @Query("SELECT q FROM Question q WHERE q.questionText LIKE %:keyword% OR q.questionAnswer LIKE %:keyword%")
     List<Question> findByKeyword(@Param("keyword") String keyword);
     
-    @Query("SELECT q FROM Question q JOIN q.tags t WHERE t.name = :tagName")
-    List<Question> findByTagName(@Param("tagName") String tagName);
+    @EntityGraph(Question.WITH_TAGS_GRAPH)
+    @Query("SELECT q FROM Question q WHERE q.id IN :ids")
+    List<Question> findAllWithTagsByIdIn(@Param("ids") Collection<Integer> ids);
     
-    @Query("SELECT q FROM Question q JOIN q.tags t WHERE t.name IN :tagNames")
-    List<Question> findByTagNames(@Param("tagNames") List<String> tagNames);
-    
-    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.tags WHERE q.id = :id")
+    @EntityGraph(Question.WITH_TAGS_GRAPH)
+    @Query("SELECT q FROM Question q WHERE q.id = :id")
     Question findByIdWithTags(@Param("id") Integer id);
     
-    @Query("SELECT q FROM Question q LEFT JOIN FETCH q.tags")
+    @EntityGraph(Question.WITH_TAGS_GRAPH)
+    @Query("SELECT q FROM Question q")
     List<Question> findAllWithTags();
+    
+    @Query("SELECT q.id FROM Question q WHERE q.questionText LIKE %:keyword% OR q.questionAnswer LIKE %:keyword%")
+    List<Integer> findIdsByKeyword(@Param("keyword") String keyword);
+    
+    // Native because JPQL joins question_tags by question and tag id only, which probes
+    // every bank's partition; the bank prunes question_tags to one partition
+    @Query(value = "SELECT DISTINCT qt.question_id FROM question_tags qt JOIN tags t ON t.id = qt.tag_id " +
+            "WHERE qt.bank_id = :bankId AND t.bank_id = :bankId AND t.name IN (:tagNames)", nativeQuery = true)
+    List<Integer> findIdsByTagNames(@Param("bankId") Long bankId, @Param("tagNames") Collection<String> tagNames);
+    
+    /**
+     * Picks a shuffled deck from one bank in one round-trip. Every row carries its id so
+     * the whole deck order is known, but text and answer are only returned for the first
+     * {@code pageSize} positions; later pages are loaded by id when the quiz reaches them.
+     */
+    @Query(value = "SELECT q.id AS id, " +
+            "CASE WHEN d.position <= :pageSize THEN q.question_text END AS questionText, " +
+            "CASE WHEN d.position <= :pageSize THEN q.question_answer END AS questionAnswer, " +
+            "CAST(q.difficulty AS TEXT) AS difficulty " +
+            "FROM (SELECT c.id, row_number() OVER (ORDER BY random()) AS position " +
+            "      FROM questions c " +
+            "      WHERE c.bank_id = :bankId " +
+            "        AND (CAST(:difficulty AS TEXT) IS NULL OR c.difficulty = CAST(:difficulty AS difficulty_level)) " +
+            "        AND (:filterByTags = FALSE OR EXISTS (SELECT 1 FROM question_tags qt JOIN tags t ON t.id = qt.tag_id " +
+            "                                              WHERE qt.bank_id = c.bank_id AND qt.question_id = c.id " +
+            "                                                AND t.name IN (:tagNames))) " +
+            "      ORDER BY position LIMIT :size) d " +
+            "JOIN questions q ON q.bank_id = :bankId AND q.id = d.id " +
+            "ORDER BY d.position", nativeQuery = true)
+    List<DeckEntry> findRandomDeck(@Param("bankId") Long bankId,
+                                   @Param("difficulty") String difficulty,
+                                   @Param("filterByTags") boolean filterByTags,
+                                   @Param("tagNames") Collection<String> tagNames,
+                                   @Param("size") int size,
+                                   @Param("pageSize") int pageSize);
+    
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM questions q WHERE q.bank_id = :bankId AND q.id = :id)",
+            nativeQuery = true)
+    boolean existsInBank(@Param("bankId") Long bankId, @Param("id") Integer id);
+    
+    // The loaders below are native so they bypass the tenant filter: the in-memory
+    // indexes are built on background threads and cover every bank
+    
+    @Query(value = "SELECT q.id AS questionId, q.bank_id AS bankId, CAST(q.difficulty AS TEXT) AS difficulty " +
+            "FROM questions q", nativeQuery = true)
+    List<IndexEntry> findAllIndexEntries();
+    
+    @Query(value = "SELECT q.id AS questionId, q.bank_id AS bankId, CAST(q.difficulty AS TEXT) AS difficulty " +
+            "FROM questions q WHERE q.bank_id = :bankId", nativeQuery = true)
+    List<IndexEntry> findIndexEntriesByBankId(@Param("bankId") Long bankId);
+    
+    @Query(value = "SELECT qt.question_id AS questionId, qt.tag_id AS tagId FROM question_tags qt", nativeQuery = true)
+    List<TagMembership> findAllTagMemberships();
+    
+    @Query(value = "SELECT qt.question_id AS questionId, qt.tag_id AS tagId FROM question_tags qt " +
+            "WHERE qt.bank_id = :bankId", nativeQuery = true)
+    List<TagMembership> findTagMembershipsByBankId(@Param("bankId") Long bankId);
+    
+    /**
+     * Sets the bank for the rest of the current transaction. New question_tags rows take
+     * their partition key from it, since the join table is written by Hibernate directly.
+     * Must run before the transaction changes any tags, as queries flush pending changes.
+     */
+    @Query(value = "SELECT set_config('recalldev.bank_id', CAST(:bankId AS TEXT), true)", nativeQuery = true)
+    String bindBankToTransaction(@Param("bankId") Long bankId);
+    
+    interface IndexEntry {
+        Integer getQuestionId();
+        
+        Long getBankId();
+        
+        String getDifficulty();
+    }
+    
+    interface TagMembership {
+        Integer getQuestionId();
+        
+        Integer getTagId();
+    }
+    
+    interface DeckEntry {
+        Integer getId();
+        
+        String getQuestionText();
+        
+        String getQuestionAnswer();
+        
+        String getDifficulty();
+    }
 } 
\ No newline at end of file
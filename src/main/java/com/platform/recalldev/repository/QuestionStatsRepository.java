@@ -0,0 +1,9 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuestionStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuestionStatsRepository extends JpaRepository<QuestionStats, Integer>, QuestionStatsRepositoryCustom {
+}
@@ -0,0 +1,17 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuestionStats;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface QuestionStatsRepositoryCustom {
+
+    /**
+     * Adds each question's increments to its saved totals in one statement, inserting
+     * rows for questions without any yet, and returns the resulting totals. Replicas
+     * only ever add, so none loses attempts written by another, and the totals
+     * returned include every replica's attempts.
+     */
+    List<QuestionStats> upsertAll(Collection<QuestionStats> increments);
+}
@@ -0,0 +1,74 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuestionStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+public class QuestionStatsRepositoryImpl implements QuestionStatsRepositoryCustom {
+
+    // One statement over arrays rather than a JDBC batch, since a batch cannot return the merged rows
+    private static final String UPSERT_SQL =
+            "INSERT INTO question_stats (question_id, attempts, correct_attempts, timed_attempts, total_latency_ms, updated_at) " +
+            "SELECT * FROM unnest(CAST(? AS INTEGER[]), CAST(? AS BIGINT[]), CAST(? AS BIGINT[]), CAST(? AS BIGINT[]), " +
+            "CAST(? AS BIGINT[]), CAST(? AS TIMESTAMPTZ[])) " +
+            "ON CONFLICT (question_id) DO UPDATE SET " +
+            "attempts = question_stats.attempts + EXCLUDED.attempts, " +
+            "correct_attempts = question_stats.correct_attempts + EXCLUDED.correct_attempts, " +
+            "timed_attempts = question_stats.timed_attempts + EXCLUDED.timed_attempts, " +
+            "total_latency_ms = question_stats.total_latency_ms + EXCLUDED.total_latency_ms, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "RETURNING question_id, attempts, correct_attempts, timed_attempts, total_latency_ms, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public QuestionStatsRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<QuestionStats> upsertAll(Collection<QuestionStats> increments) {
+        if (increments.isEmpty()) {
+            return List.of();
+        }
+        int size = increments.size();
+        Integer[] questionIds = new Integer[size];
+        Long[] attempts = new Long[size];
+        Long[] correctAttempts = new Long[size];
+        Long[] timedAttempts = new Long[size];
+        Long[] totalLatencyMs = new Long[size];
+        Timestamp[] updatedAt = new Timestamp[size];
+        int i = 0;
+        for (QuestionStats increment : increments) {
+            questionIds[i] = increment.getQuestionId();
+            attempts[i] = increment.getAttempts();
+            correctAttempts[i] = increment.getCorrectAttempts();
+            timedAttempts[i] = increment.getTimedAttempts();
+            totalLatencyMs[i] = increment.getTotalLatencyMs();
+            updatedAt[i] = Timestamp.from(increment.getUpdatedAt());
+            i++;
+        }
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPSERT_SQL);
+            statement.setArray(1, connection.createArrayOf("integer", questionIds));
+            statement.setArray(2, connection.createArrayOf("bigint", attempts));
+            statement.setArray(3, connection.createArrayOf("bigint", correctAttempts));
+            statement.setArray(4, connection.createArrayOf("bigint", timedAttempts));
+            statement.setArray(5, connection.createArrayOf("bigint", totalLatencyMs));
+            statement.setArray(6, connection.createArrayOf("timestamptz", updatedAt));
+            return statement;
+        }, (rs, rowNum) -> QuestionStats.builder()
+                .questionId(rs.getInt("question_id"))
+                .attempts(rs.getLong("attempts"))
+                .correctAttempts(rs.getLong("correct_attempts"))
+                .timedAttempts(rs.getLong("timed_attempts"))
+                .totalLatencyMs(rs.getLong("total_latency_ms"))
+                .updatedAt(rs.getTimestamp("updated_at").toInstant())
+                .build());
+    }
+}
@@ -0,0 +1,9 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuizAnswer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuizAnswerRepository extends JpaRepository<QuizAnswer, Long>, QuizAnswerRepositoryCustom {
+}
@@ -0,0 +1,14 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuizAnswer;
+
+import java.util.Collection;
+
+public interface QuizAnswerRepositoryCustom {
+
+    /**
+     * Appends all answers with a single JDBC batch. Identity ids disable Hibernate's
+     * insert batching, so this bypasses the persistence context entirely.
+     */
+    void insertAll(Collection<QuizAnswer> answers);
+}
@@ -0,0 +1,43 @@
+package com.platform.recalldev.repository;
+
+import com.platform.recalldev.entity.QuizAnswer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class QuizAnswerRepositoryImpl implements QuizAnswerRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO quiz_answers (session_id, question_id, correct, latency_ms, answered_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public QuizAnswerRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(Collection<QuizAnswer> answers) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(answers.size());
+        for (QuizAnswer answer : answers) {
+            rows.add(new Object[]{
+                    answer.getSessionId(),
+                    answer.getQuestionId(),
+                    answer.isCorrect(),
+                    answer.getLatencyMs(),
+                    Timestamp.from(answer.getAnsweredAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows,
+                new int[]{Types.VARCHAR, Types.INTEGER, Types.BOOLEAN, Types.INTEGER, Types.TIMESTAMP});
+    }
+}
@@ -12,19 +12,52 @@ import java.util.Optional;
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Integer> {
     
+    // A query rather than EntityManager.find, so the current bank's tenant filter applies
+    @Override
+    @Query("SELECT t FROM Tag t WHERE t.id = :id")
+    Optional<Tag> findById(@Param("id") Integer id);
+    
     Optional<Tag> findByName(String name);
     
     List<Tag> findByNameContainingIgnoreCase(String keyword);
     
-    @Query("SELECT t FROM Tag t LEFT JOIN FETCH t.questions WHERE t.id = :id")
-    Tag findByIdWithQuestions(@Param("id") Integer id);
+    // Native and restricted to the bank, so question_tags is pruned to the bank's partition;
+    // id pairs only, so listing tags with their question ids never reads question text
+    @Query(value = "SELECT qt.tag_id AS tagId, qt.question_id AS questionId FROM question_tags qt " +
+            "WHERE qt.bank_id = :bankId ORDER BY qt.question_id", nativeQuery = true)
+    List<TagQuestionId> findAllQuestionIds(@Param("bankId") Long bankId);
+    
+    @Query(value = "SELECT qt.tag_id AS tagId, qt.question_id AS questionId FROM question_tags qt " +
+            "WHERE qt.bank_id = :bankId AND qt.tag_id = :id ORDER BY qt.question_id", nativeQuery = true)
+    List<TagQuestionId> findQuestionIdsByTagId(@Param("bankId") Long bankId, @Param("id") Integer id);
+    
+    @Query(value = "SELECT t.* FROM tags t WHERE t.bank_id = :bankId AND EXISTS " +
+            "(SELECT 1 FROM question_tags qt WHERE qt.bank_id = :bankId AND qt.tag_id = t.id)", nativeQuery = true)
+    List<Tag> findTagsWithQuestions(@Param("bankId") Long bankId);
+    
+    @Query(value = "SELECT t.* FROM tags t WHERE t.bank_id = :bankId AND NOT EXISTS " +
+            "(SELECT 1 FROM question_tags qt WHERE qt.bank_id = :bankId AND qt.tag_id = t.id)", nativeQuery = true)
+    List<Tag> findTagsWithoutQuestions(@Param("bankId") Long bankId);
+    
+    // Native so the in-memory indexes can load every bank's tags from a background thread
+    @Query(value = "SELECT t.id AS id, t.bank_id AS bankId, t.name AS name FROM tags t", nativeQuery = true)
+    List<BankTag> findAllAcrossBanks();
     
-    @Query("SELECT t FROM Tag t LEFT JOIN FETCH t.questions")
-    List<Tag> findAllWithQuestions();
+    @Query(value = "SELECT t.id AS id, t.bank_id AS bankId, t.name AS name FROM tags t WHERE t.bank_id = :bankId",
+            nativeQuery = true)
+    List<BankTag> findAllByBankId(@Param("bankId") Long bankId);
     
-    @Query("SELECT t FROM Tag t WHERE SIZE(t.questions) > 0")
-    List<Tag> findTagsWithQuestions();
+    interface TagQuestionId {
+        Integer getTagId();
+        
+        Integer getQuestionId();
+    }
     
-    @Query("SELECT t FROM Tag t WHERE SIZE(t.questions) = 0")
-    List<Tag> findTagsWithoutQuestions();
+    interface BankTag {
+        Integer getId();
+        
+        Long getBankId();
+        
+        String getName();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,367 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.bank.BankContext;
+import com.platform.recalldev.entity.QuestionAttempt;
+import com.platform.recalldev.entity.QuestionStats;
+import com.platform.recalldev.repository.QuestionAttemptRepository;
+import com.platform.recalldev.repository.QuestionRepository;
+import com.platform.recalldev.repository.QuestionStatsRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ingests answer attempts without touching the database on the request thread.
+ * Attempts go into a lock-free {@link RingBuffer} and bump per-question
+ * {@link LongAdder} counters. A flush on its own thread appends them to
+ * {@code question_attempts} in batches, so slow scheduled jobs never hold up
+ * draining the buffer. A slower checkpoint adds each counter's increase since the
+ * last checkpoint to {@code question_stats}, so replicas sharing the table never
+ * overwrite each other's attempts, and reloads the table's totals, so every replica
+ * reports the attempts of all of them. Rollups per tag and difficulty are summed from
+ * the counters over the {@link QuestionIndex}, without a query.
+ */
+@Slf4j
+@Service
+public class AttemptIngestionService implements WarmupTask {
+
+    private final QuestionAttemptRepository questionAttemptRepository;
+    private final QuestionStatsRepository questionStatsRepository;
+    private final QuestionRepository questionRepository;
+    private final QuestionIndex questionIndex;
+    private final BankContext bankContext;
+    private final RingBuffer<QuestionAttempt> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Map<Integer, Counters> counters = new ConcurrentHashMap<>();
+    // Questions the index did not know yet but the database had, by bank. The index only learns
+    // of questions created through other replicas at its next rebuild. Misses are not cached, as
+    // the question may be created any time.
+    private final Map<Long, Set<Integer>> confirmedQuestionIds = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "attempt-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Only touched from the flusher thread, and on shutdown once it has stopped
+    private List<QuestionAttempt> failedBatch;
+    // Checkpointing before the saved totals are loaded would count the early attempts twice once they are loaded
+    private volatile boolean totalsLoaded;
+
+    @Autowired
+    public AttemptIngestionService(QuestionAttemptRepository questionAttemptRepository,
+                                   QuestionStatsRepository questionStatsRepository,
+                                   QuestionRepository questionRepository,
+                                   QuestionIndex questionIndex,
+                                   BankContext bankContext,
+                                   @Value("${recalldev.attempts.buffer-capacity:65536}") int bufferCapacity,
+                                   @Value("${recalldev.attempts.flush-batch-size:1000}") int batchSize,
+                                   @Value("${recalldev.attempts.flush-interval-ms:200}") long flushIntervalMs) {
+        this.questionAttemptRepository = questionAttemptRepository;
+        this.questionStatsRepository = questionStatsRepository;
+        this.questionRepository = questionRepository;
+        this.questionIndex = questionIndex;
+        this.bankContext = bankContext;
+        this.buffer = new RingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    @PostConstruct
+    public void startFlusher() {
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // An escaping exception would cancel every later run
+                log.error("Attempt flush failed", e);
+            }
+        }, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Loads the saved totals. Attempts recorded before this runs are kept, since they
+     * are counted on top of the totals.
+     */
+    @Override
+    public synchronized void warmUp() {
+        if (totalsLoaded) {
+            return;
+        }
+        loadTotals();
+        totalsLoaded = true;
+    }
+
+    /**
+     * Records an attempt. Attempts for questions that do not exist are refused, so
+     * made-up ids never get counters; a full buffer means the caller should back off.
+     */
+    public RecordResult record(Integer questionId, boolean correct, Integer latencyMs) {
+        if (!isKnownQuestion(questionId)) {
+            return RecordResult.UNKNOWN_QUESTION;
+        }
+        QuestionAttempt attempt = QuestionAttempt.builder()
+                .questionId(questionId)
+                .correct(correct)
+                .latencyMs(latencyMs)
+                .attemptedAt(Instant.now())
+                .build();
+        if (!buffer.offer(attempt)) {
+            return RecordResult.BUFFER_FULL;
+        }
+        Counters questionCounters = countersFor(questionId);
+        questionCounters.attempts.increment();
+        if (correct) {
+            questionCounters.correctAttempts.increment();
+        }
+        if (latencyMs != null) {
+            questionCounters.timedAttempts.increment();
+            questionCounters.totalLatencyMs.add(latencyMs);
+        }
+        return RecordResult.ACCEPTED;
+    }
+
+    /**
+     * Whether the question exists in the current bank; counters are keyed by question id
+     * alone, so other banks' questions are refused. Questions the index does not know,
+     * such as ones created through another replica, are looked up in the database.
+     */
+    public boolean isKnownQuestion(Integer questionId) {
+        if (questionId == null) {
+            return false;
+        }
+        Long bankId = bankContext.currentBankId();
+        if (questionIndex.contains(bankId, questionId)) {
+            return true;
+        }
+        Set<Integer> confirmed = confirmedQuestionIds.computeIfAbsent(bankId, id -> ConcurrentHashMap.newKeySet());
+        if (confirmed.contains(questionId)) {
+            return true;
+        }
+        if (questionRepository.existsInBank(bankId, questionId)) {
+            confirmed.add(questionId);
+            return true;
+        }
+        return false;
+    }
+
+    public void flush() {
+        if (failedBatch != null) {
+            if (!writeBatch(failedBatch)) {
+                // Stop draining so the full buffer pushes back on producers
+                return;
+            }
+            failedBatch = null;
+        }
+        List<QuestionAttempt> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            if (!writeBatch(batch)) {
+                failedBatch = batch;
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${recalldev.attempts.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        if (!totalsLoaded) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<QuestionStats> increments = new ArrayList<>();
+        Map<Integer, Counts> written = new HashMap<>();
+        counters.forEach((questionId, questionCounters) -> {
+            Counts local = questionCounters.local();
+            Counts increment = local.minus(questionCounters.synced.local());
+            if (!increment.isZero()) {
+                increments.add(increment.toStats(questionId, now));
+                written.put(questionId, local);
+            }
+        });
+        try {
+            // Only advance once the increments are saved, so a failed write is retried in full
+            for (QuestionStats totals : questionStatsRepository.upsertAll(increments)) {
+                counters.get(totals.getQuestionId()).synced =
+                        new Synced(Counts.of(totals), written.get(totals.getQuestionId()));
+            }
+            // Picks up other replicas' attempts on questions this replica had nothing to add to
+            loadTotals();
+        } catch (RuntimeException e) {
+            log.warn("Failed to checkpoint stats of {} questions, will retry", increments.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Attempt flusher did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        checkpoint();
+    }
+
+    public Optional<AttemptStats> getQuestionStats(Integer questionId) {
+        // Counters are keyed by question id alone; only report questions of the current bank
+        if (!isKnownQuestion(questionId)) {
+            return Optional.empty();
+        }
+        Counters questionCounters = counters.get(questionId);
+        return Optional.ofNullable(questionCounters)
+                .map(c -> c.total().toAttemptStats(String.valueOf(questionId)));
+    }
+
+    public AttemptStats getTagStats(String tagName) {
+        BitSet questionIds = questionIndex.questionIdsByTag(bankContext.currentBankId()).getOrDefault(tagName, new BitSet());
+        return sum(tagName, questionIds);
+    }
+
+    public List<AttemptStats> getStatsByTag() {
+        List<AttemptStats> byTag = new ArrayList<>();
+        questionIndex.questionIdsByTag(bankContext.currentBankId())
+                .forEach((tagName, questionIds) -> byTag.add(sum(tagName, questionIds)));
+        return byTag;
+    }
+
+    public List<AttemptStats> getStatsByDifficulty() {
+        List<AttemptStats> byDifficulty = new ArrayList<>();
+        questionIndex.questionIdsByDifficulty(bankContext.currentBankId())
+                .forEach((difficulty, questionIds) -> byDifficulty.add(sum(difficulty.name(), questionIds)));
+        return byDifficulty;
+    }
+
+    private AttemptStats sum(String key, BitSet questionIds) {
+        Counts totals = Counts.ZERO;
+        for (int id = questionIds.nextSetBit(0); id >= 0; id = questionIds.nextSetBit(id + 1)) {
+            Counters questionCounters = counters.get(id);
+            if (questionCounters != null) {
+                totals = totals.plus(questionCounters.total());
+            }
+        }
+        return totals.toAttemptStats(key);
+    }
+
+    /**
+     * Resets each question's base to its saved totals, which include this replica's
+     * checkpointed attempts.
+     */
+    private void loadTotals() {
+        for (QuestionStats totals : questionStatsRepository.findAll()) {
+            Counters questionCounters = countersFor(totals.getQuestionId());
+            questionCounters.synced = new Synced(Counts.of(totals), questionCounters.synced.local());
+        }
+    }
+
+    private Counters countersFor(Integer questionId) {
+        // get() first so the common case never locks a map bin
+        Counters questionCounters = counters.get(questionId);
+        return questionCounters != null ? questionCounters : counters.computeIfAbsent(questionId, id -> new Counters());
+    }
+
+    private boolean writeBatch(List<QuestionAttempt> batch) {
+        try {
+            questionAttemptRepository.insertAll(batch);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} question attempts, will retry", batch.size(), e);
+            return false;
+        }
+    }
+
+    private static class Counters {
+        // Attempts recorded by this replica since it started
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder correctAttempts = new LongAdder();
+        private final LongAdder timedAttempts = new LongAdder();
+        private final LongAdder totalLatencyMs = new LongAdder();
+        private volatile Synced synced = Synced.ZERO;
+
+        private Counts local() {
+            return new Counts(attempts.sum(), correctAttempts.sum(), timedAttempts.sum(), totalLatencyMs.sum());
+        }
+
+        // The saved totals plus what this replica recorded since they were read
+        private Counts total() {
+            Synced current = synced;
+            return current.totals().plus(local().minus(current.local()));
+        }
+    }
+
+    /**
+     * The question_stats totals as last read, and this replica's local counts that
+     * had been added to them by then.
+     */
+    private record Synced(Counts totals, Counts local) {
+
+        private static final Synced ZERO = new Synced(Counts.ZERO, Counts.ZERO);
+    }
+
+    private record Counts(long attempts, long correctAttempts, long timedAttempts, long totalLatencyMs) {
+
+        private static final Counts ZERO = new Counts(0, 0, 0, 0);
+
+        private static Counts of(QuestionStats stats) {
+            return new Counts(stats.getAttempts(), stats.getCorrectAttempts(),
+                    stats.getTimedAttempts(), stats.getTotalLatencyMs());
+        }
+
+        private Counts plus(Counts other) {
+            return new Counts(attempts + other.attempts, correctAttempts + other.correctAttempts,
+                    timedAttempts + other.timedAttempts, totalLatencyMs + other.totalLatencyMs);
+        }
+
+        private Counts minus(Counts other) {
+            return new Counts(attempts - other.attempts, correctAttempts - other.correctAttempts,
+                    timedAttempts - other.timedAttempts, totalLatencyMs - other.totalLatencyMs);
+        }
+
+        private boolean isZero() {
+            return equals(ZERO);
+        }
+
+        private QuestionStats toStats(Integer questionId, Instant updatedAt) {
+            return QuestionStats.builder()
+                    .questionId(questionId)
+                    .attempts(attempts)
+                    .correctAttempts(correctAttempts)
+                    .timedAttempts(timedAttempts)
+                    .totalLatencyMs(totalLatencyMs)
+                    .updatedAt(updatedAt)
+                    .build();
+        }
+
+        private AttemptStats toAttemptStats(String key) {
+            return AttemptStats.of(key, attempts, correctAttempts, timedAttempts, totalLatencyMs);
+        }
+    }
+
+    public enum RecordResult {
+        ACCEPTED,
+        UNKNOWN_QUESTION,
+        BUFFER_FULL
+    }
+}
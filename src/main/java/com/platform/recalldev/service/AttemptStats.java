@@ -0,0 +1,21 @@
+package com.platform.recalldev.service;
+
+import lombok.Value;
+
+/**
+ * Snapshot of attempt counters for a question, tag or difficulty level.
+ */
+@Value
+public class AttemptStats {
+    String key;
+    long attempts;
+    long correctAttempts;
+    Double accuracy;
+    Double averageLatencyMs;
+
+    public static AttemptStats of(String key, long attempts, long correctAttempts, long timedAttempts, long totalLatencyMs) {
+        return new AttemptStats(key, attempts, correctAttempts,
+                attempts > 0 ? (double) correctAttempts / attempts : null,
+                timedAttempts > 0 ? (double) totalLatencyMs / timedAttempts : null);
+    }
+}
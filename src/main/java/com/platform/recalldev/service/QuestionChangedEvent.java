@@ -0,0 +1,31 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.entity.Question;
+import com.platform.recalldev.entity.Tag;
+import lombok.Value;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Published by {@link QuestionService} when a question or its tags change, carrying
+ * a snapshot of the question so listeners never have to touch the entity.
+ */
+@Value
+public class QuestionChangedEvent {
+    Long bankId;
+    Integer questionId;
+    Question.DifficultyLevel difficulty;
+    Map<Integer, String> tagNamesById;
+    boolean deleted;
+
+    public static QuestionChangedEvent of(Question question) {
+        Map<Integer, String> tagNamesById = question.getTags() == null ? Map.of() : question.getTags().stream()
+                .collect(Collectors.toMap(Tag::getId, Tag::getName));
+        return new QuestionChangedEvent(question.getBankId(), question.getId(), question.getDifficulty(), tagNamesById, false);
+    }
+
+    public static QuestionChangedEvent deleted(Long bankId, Integer questionId) {
+        return new QuestionChangedEvent(bankId, questionId, null, Map.of(), true);
+    }
+}
@@ -0,0 +1,17 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.entity.Question;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Number of questions matching a filter, and per difficulty level and per tag the
+ * number the option matches under the filter's other criteria.
+ */
+@Value
+public class QuestionFacets {
+    int total;
+    Map<Question.DifficultyLevel, Integer> difficulties;
+    Map<String, Integer> tags;
+}
@@ -0,0 +1,417 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.entity.Question;
+import com.platform.recalldev.repository.QuestionRepository;
+import com.platform.recalldev.repository.TagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of question difficulties and tag membership, keyed by question id
+ * and partitioned by question bank, so a bank's facets only visit its own questions.
+ * It holds ids only, never entities, and is kept current by the
+ * {@link QuestionChangedEvent}s and {@link TagChangedEvent}s published after commit.
+ * A periodic rebuild picks up changes made through other replicas, and a single
+ * bank's partition can be evicted and reloaded without touching the others. Loads
+ * run without the lock; events applied meanwhile are replayed onto the loaded state
+ * before it is published, so none is lost.
+ */
+@Slf4j
+@Component
+public class QuestionIndex implements WarmupTask {
+
+    private static final int[] NO_TAGS = new int[0];
+
+    private final QuestionRepository questionRepository;
+    private final TagRepository tagRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    // Guarded by the write lock
+    private final List<ChangeLog> loadsInProgress = new ArrayList<>();
+
+    @Autowired
+    public QuestionIndex(QuestionRepository questionRepository, TagRepository tagRepository) {
+        this.questionRepository = questionRepository;
+        this.tagRepository = tagRepository;
+    }
+
+    @Override
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${recalldev.index.refresh-interval-ms:300000}",
+            fixedDelayString = "${recalldev.index.refresh-interval-ms:300000}")
+    public void rebuild() {
+        loadAndPublish(() -> load(tagRepository.findAllAcrossBanks(), questionRepository.findAllIndexEntries(),
+                questionRepository.findAllTagMemberships()), rebuilt -> state = rebuilt);
+        log.debug("Rebuilt question index");
+    }
+
+    /**
+     * Drops one bank's partition and reloads it with queries pruned to that bank's
+     * table partitions.
+     */
+    public void evictBank(Long bankId) {
+        loadAndPublish(() -> load(tagRepository.findAllByBankId(bankId), questionRepository.findIndexEntriesByBankId(bankId),
+                questionRepository.findTagMembershipsByBankId(bankId)), reloaded -> state.replacePartition(bankId, reloaded));
+        log.debug("Reloaded question index partition of bank {}", bankId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        if (event.isDeleted()) {
+            apply(target -> target.removeQuestion(event.getBankId(), event.getQuestionId()));
+            return;
+        }
+        int[] tagIds = event.getTagNamesById().keySet().stream().mapToInt(Integer::intValue).toArray();
+        apply(target -> {
+            event.getTagNamesById().forEach((tagId, name) -> target.putTag(event.getBankId(), tagId, name));
+            target.putQuestion(event.getBankId(), event.getQuestionId(), event.getDifficulty(), tagIds);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        if (event.isDeleted()) {
+            apply(target -> target.removeTag(event.getBankId(), event.getTagId()));
+        } else {
+            apply(target -> target.putTag(event.getBankId(), event.getTagId(), event.getName()));
+        }
+    }
+
+    public boolean contains(Long bankId, int questionId) {
+        lock.readLock().lock();
+        try {
+            Partition partition = state.partitions.get(bankId);
+            return partition != null && questionId >= 0 && partition.questionIds.get(questionId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the bank's questions per difficulty.
+     */
+    public Map<Question.DifficultyLevel, BitSet> questionIdsByDifficulty(Long bankId) {
+        lock.readLock().lock();
+        try {
+            Map<Question.DifficultyLevel, BitSet> byDifficulty = new EnumMap<>(Question.DifficultyLevel.class);
+            for (Question.DifficultyLevel level : Question.DifficultyLevel.values()) {
+                byDifficulty.put(level, new BitSet());
+            }
+            BitSet questionIds = state.partitions.getOrDefault(bankId, new Partition()).questionIds;
+            for (int id = questionIds.nextSetBit(0); id >= 0; id = questionIds.nextSetBit(id + 1)) {
+                byDifficulty.get(state.difficulties[id]).set(id);
+            }
+            return byDifficulty;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the bank's questions per tag name, for tags that have questions.
+     */
+    public Map<String, BitSet> questionIdsByTag(Long bankId) {
+        lock.readLock().lock();
+        try {
+            Partition partition = state.partitions.getOrDefault(bankId, new Partition());
+            Map<String, BitSet> byTag = new TreeMap<>();
+            partition.questionsByTag.forEach((tagId, members) -> {
+                String name = partition.tagNames.get(tagId);
+                if (name != null && !members.isEmpty()) {
+                    byTag.put(name, (BitSet) members.clone());
+                }
+            });
+            return byTag;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the bank's questions matching the filter per difficulty and per tag. Tags
+     * match if the question has any of them; {@code keywordMatches}, when given,
+     * restricts the result to those question ids. {@code total} applies every filter, but
+     * each facet is counted without its own, so every option shows how many questions it
+     * matches under the other filters: difficulties ignore {@code difficulty} and tags
+     * ignore {@code tagNames}.
+     */
+    public QuestionFacets facets(Long bankId, BitSet keywordMatches, Collection<String> tagNames,
+                                 Question.DifficultyLevel difficulty) {
+        lock.readLock().lock();
+        try {
+            Partition partition = state.partitions.getOrDefault(bankId, new Partition());
+            BitSet candidates = (BitSet) partition.questionIds.clone();
+            if (keywordMatches != null) {
+                candidates.and(keywordMatches);
+            }
+            BitSet tagged = null;
+            if (tagNames != null && !tagNames.isEmpty()) {
+                tagged = new BitSet();
+                for (String tagName : tagNames) {
+                    Integer tagId = partition.tagIdsByName.get(tagName);
+                    if (tagId != null) {
+                        tagged.or(partition.questionsByTag.getOrDefault(tagId, new BitSet()));
+                    }
+                }
+            }
+
+            int[] difficultyCounts = new int[Question.DifficultyLevel.values().length];
+            Map<Integer, int[]> tagCounts = new HashMap<>();
+            int total = 0;
+            for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                Question.DifficultyLevel questionDifficulty = state.difficulties[id];
+                boolean matchesTags = tagged == null || tagged.get(id);
+                boolean matchesDifficulty = difficulty == null || questionDifficulty == difficulty;
+                if (matchesTags) {
+                    difficultyCounts[questionDifficulty.ordinal()]++;
+                }
+                if (matchesDifficulty) {
+                    for (int tagId : state.tagIds[id]) {
+                        tagCounts.computeIfAbsent(tagId, key -> new int[1])[0]++;
+                    }
+                }
+                if (matchesTags && matchesDifficulty) {
+                    total++;
+                }
+            }
+
+            Map<Question.DifficultyLevel, Integer> byDifficulty = new EnumMap<>(Question.DifficultyLevel.class);
+            for (Question.DifficultyLevel level : Question.DifficultyLevel.values()) {
+                byDifficulty.put(level, difficultyCounts[level.ordinal()]);
+            }
+            Map<String, Integer> byTag = new TreeMap<>();
+            partition.tagNames.forEach((tagId, name) -> {
+                int[] count = tagCounts.get(tagId);
+                byTag.put(name, count != null ? count[0] : 0);
+            });
+            return new QuestionFacets(total, byDifficulty, byTag);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change to the live state and records it for every load in progress.
+     */
+    private void apply(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            for (ChangeLog changeLog : loadsInProgress) {
+                changeLog.changes.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs {@code loader} without the lock, then replays the changes applied since it
+     * started onto the loaded state and publishes it, all under the write lock.
+     */
+    private void loadAndPublish(Supplier<State> loader, Consumer<State> publish) {
+        ChangeLog changeLog = new ChangeLog();
+        lock.writeLock().lock();
+        try {
+            loadsInProgress.add(changeLog);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        State loaded = null;
+        try {
+            loaded = loader.get();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                loadsInProgress.remove(changeLog);
+                if (loaded != null) {
+                    for (Consumer<State> change : changeLog.changes) {
+                        change.accept(loaded);
+                    }
+                    publish.accept(loaded);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static State load(List<TagRepository.BankTag> tags, List<QuestionRepository.IndexEntry> questions,
+                              List<QuestionRepository.TagMembership> memberships) {
+        State loaded = new State();
+        for (TagRepository.BankTag tag : tags) {
+            loaded.putTag(tag.getBankId(), tag.getId(), tag.getName());
+        }
+        Map<Integer, Long> bankIds = new HashMap<>();
+        for (QuestionRepository.IndexEntry row : questions) {
+            bankIds.put(row.getQuestionId(), row.getBankId());
+            loaded.putQuestion(row.getBankId(), row.getQuestionId(),
+                    Question.DifficultyLevel.valueOf(row.getDifficulty()), NO_TAGS);
+        }
+        Map<Integer, int[]> tagIdsByQuestion = new HashMap<>();
+        for (QuestionRepository.TagMembership row : memberships) {
+            tagIdsByQuestion.merge(row.getQuestionId(), new int[]{row.getTagId()}, QuestionIndex::concat);
+        }
+        tagIdsByQuestion.forEach((questionId, tagIds) -> {
+            // Rows for questions inserted after the question query was read are left to the next load
+            Long bankId = bankIds.get(questionId);
+            if (bankId != null) {
+                loaded.putQuestion(bankId, questionId, loaded.difficultyOf(questionId), tagIds);
+            }
+        });
+        return loaded;
+    }
+
+    private static int[] concat(int[] left, int[] right) {
+        int[] merged = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, merged, left.length, right.length);
+        return merged;
+    }
+
+    /**
+     * Index contents. Arrays are indexed by question id, which is a dense serial shared
+     * by all banks; everything a bank owns besides them lives in its {@link Partition}.
+     */
+    private static class State {
+        private Question.DifficultyLevel[] difficulties = new Question.DifficultyLevel[0];
+        private int[][] tagIds = new int[0][];
+        private final Map<Long, Partition> partitions = new HashMap<>();
+
+        private Question.DifficultyLevel difficultyOf(int questionId) {
+            return questionId < difficulties.length ? difficulties[questionId] : null;
+        }
+
+        private Partition partition(Long bankId) {
+            return partitions.computeIfAbsent(bankId, key -> new Partition());
+        }
+
+        private void putTag(Long bankId, Integer tagId, String name) {
+            Partition partition = partition(bankId);
+            String previous = partition.tagNames.put(tagId, name);
+            if (previous != null && !previous.equals(name)) {
+                partition.tagIdsByName.remove(previous);
+            }
+            partition.tagIdsByName.put(name, tagId);
+        }
+
+        private void removeTag(Long bankId, Integer tagId) {
+            Partition partition = partitions.get(bankId);
+            if (partition == null) {
+                return;
+            }
+            String name = partition.tagNames.remove(tagId);
+            if (name != null) {
+                partition.tagIdsByName.remove(name);
+            }
+            BitSet members = partition.questionsByTag.remove(tagId);
+            if (members != null) {
+                for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1)) {
+                    tagIds[id] = Arrays.stream(tagIds[id]).filter(t -> t != tagId).toArray();
+                }
+            }
+        }
+
+        private void putQuestion(Long bankId, int questionId, Question.DifficultyLevel difficulty, int[] questionTagIds) {
+            ensureCapacity(questionId);
+            Partition partition = partition(bankId);
+            unlinkTags(partition, questionId);
+            partition.questionIds.set(questionId);
+            difficulties[questionId] = difficulty;
+            tagIds[questionId] = questionTagIds;
+            for (int tagId : questionTagIds) {
+                partition.questionsByTag.computeIfAbsent(tagId, key -> new BitSet()).set(questionId);
+            }
+        }
+
+        private void removeQuestion(Long bankId, int questionId) {
+            Partition partition = partitions.get(bankId);
+            if (partition == null || questionId >= difficulties.length) {
+                return;
+            }
+            unlinkTags(partition, questionId);
+            partition.questionIds.clear(questionId);
+            difficulties[questionId] = null;
+            tagIds[questionId] = null;
+        }
+
+        /**
+         * Swaps in the bank's partition from {@code loaded}, which holds only that bank.
+         */
+        private void replacePartition(Long bankId, State loaded) {
+            Partition previous = partitions.remove(bankId);
+            if (previous != null) {
+                for (int id = previous.questionIds.nextSetBit(0); id >= 0; id = previous.questionIds.nextSetBit(id + 1)) {
+                    difficulties[id] = null;
+                    tagIds[id] = null;
+                }
+            }
+            Partition partition = loaded.partitions.get(bankId);
+            if (partition == null) {
+                return;
+            }
+            for (int id = partition.questionIds.nextSetBit(0); id >= 0; id = partition.questionIds.nextSetBit(id + 1)) {
+                ensureCapacity(id);
+                difficulties[id] = loaded.difficulties[id];
+                tagIds[id] = loaded.tagIds[id];
+            }
+            partitions.put(bankId, partition);
+        }
+
+        private void ensureCapacity(int questionId) {
+            if (questionId >= difficulties.length) {
+                int capacity = Math.max(questionId + 1, difficulties.length * 3 / 2 + 16);
+                difficulties = Arrays.copyOf(difficulties, capacity);
+                tagIds = Arrays.copyOf(tagIds, capacity);
+            }
+        }
+
+        private void unlinkTags(Partition partition, int questionId) {
+            int[] previous = tagIds[questionId];
+            if (previous == null) {
+                return;
+            }
+            for (int tagId : previous) {
+                BitSet members = partition.questionsByTag.get(tagId);
+                if (members != null) {
+                    members.clear(questionId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Changes applied while one load was running, in the order they were applied.
+     */
+    private static class ChangeLog {
+        private final List<Consumer<State>> changes = new ArrayList<>();
+    }
+
+    /**
+     * One bank's questions and tags. Tag names are only unique within a bank.
+     */
+    private static class Partition {
+        private final BitSet questionIds = new BitSet();
+        private final Map<Integer, String> tagNames = new HashMap<>();
+        private final Map<String, Integer> tagIdsByName = new HashMap<>();
+        private final Map<Integer, BitSet> questionsByTag = new HashMap<>();
+    }
+}
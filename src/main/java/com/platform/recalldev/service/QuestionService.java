@@ -1,16 +1,25 @@
 package com.platform.recalldev.service;
 
+import com.platform.recalldev.bank.BankContext;
 import com.platform.recalldev.entity.Question;
 import com.platform.recalldev.entity.Tag;
 import com.platform.recalldev.repository.QuestionRepository;
 import com.platform.recalldev.repository.TagRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -18,11 +27,21 @@ public class QuestionService {
     
     private final QuestionRepository questionRepository;
     private final TagRepository tagRepository;
+    private final QuestionIndex questionIndex;
+    private final RelatedQuestionIndex relatedQuestionIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BankContext bankContext;
     
     @Autowired
-    public QuestionService(QuestionRepository questionRepository, TagRepository tagRepository) {
+    public QuestionService(QuestionRepository questionRepository, TagRepository tagRepository,
+                           QuestionIndex questionIndex, RelatedQuestionIndex relatedQuestionIndex,
+                           ApplicationEventPublisher eventPublisher, BankContext bankContext) {
         this.questionRepository = questionRepository;
         this.tagRepository = tagRepository;
+        this.questionIndex = questionIndex;
+        this.relatedQuestionIndex = relatedQuestionIndex;
+        this.eventPublisher = eventPublisher;
+        this.bankContext = bankContext;
     }
     
     public List<Question> getAllQuestions() {
@@ -42,7 +61,8 @@ public class QuestionService {
     }
     
     public Question saveQuestion(Question question) {
-        return questionRepository.save(question);
+        bindBankToTransaction();
+        return publishChanged(questionRepository.save(question));
     }
     
     public Question createQuestion(String questionText, String questionAnswer, Question.DifficultyLevel difficulty) {
@@ -52,22 +72,25 @@ public class QuestionService {
                 .difficulty(difficulty)
                 .build();
 
-        return questionRepository.save(question);
+        return publishChanged(questionRepository.save(question));
     }
     
     public Question updateQuestion(Integer id, String questionText, String questionAnswer, Question.DifficultyLevel difficulty) {
-        Question question = questionRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Question not found with id: " + id));
+        Question question = findWithTags(id);
         
         question.setQuestionText(questionText);
         question.setQuestionAnswer(questionAnswer);
         question.setDifficulty(difficulty);
         
-        return questionRepository.save(question);
+        return publishChanged(questionRepository.save(question));
     }
     
     public void deleteQuestion(Integer id) {
-        questionRepository.deleteById(id);
+        // Looked up through the bank-scoped findById so another bank's question is never deleted
+        questionRepository.findById(id).ifPresent(question -> {
+            questionRepository.delete(question);
+            eventPublisher.publishEvent(QuestionChangedEvent.deleted(question.getBankId(), id));
+        });
     }
     
     public List<Question> getQuestionsByDifficulty(Question.DifficultyLevel difficulty) {
@@ -79,40 +102,42 @@ public class QuestionService {
     }
     
     public List<Question> getQuestionsByTag(String tagName) {
-        return questionRepository.findByTagName(tagName);
+        return getQuestionsByTags(List.of(tagName));
     }
     
     public List<Question> getQuestionsByTags(List<String> tagNames) {
-        return questionRepository.findByTagNames(tagNames);
+        if (tagNames.isEmpty()) {
+            return List.of();
+        }
+        // Ids first, so the tag match is pruned to the bank's question_tags partition
+        List<Integer> ids = questionRepository.findIdsByTagNames(bankContext.currentBankId(), tagNames);
+        return ids.isEmpty() ? List.of() : questionRepository.findAllWithTagsByIdIn(ids);
     }
     
     public Question addTagToQuestion(Integer questionId, String tagName) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found with id: " + questionId));
+        bindBankToTransaction();
+        Question question = findWithTags(questionId);
         
         Tag tag = tagRepository.findByName(tagName)
                 .orElseGet(() -> tagRepository.save(Tag.builder().name(tagName).build()));
         
         question.addTag(tag);
-        return questionRepository.save(question);
+        return publishChanged(questionRepository.save(question));
     }
     
     public Question removeTagFromQuestion(Integer questionId, String tagName) {
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new RuntimeException("Question not found with id: " + questionId));
+        Question question = findWithTags(questionId);
         
         Tag tag = tagRepository.findByName(tagName)
                 .orElseThrow(() -> new RuntimeException("Tag not found with name: " + tagName));
         
         question.removeTag(tag);
-        return questionRepository.save(question);
+        return publishChanged(questionRepository.save(question));
     }
     
     public Question setQuestionTags(Integer questionId, Set<String> tagNames) {
-        Question question = questionRepository.findByIdWithTags(questionId);
-        if (question == null) {
-            throw new RuntimeException("Question not found with id: " + questionId);
-        }
+        bindBankToTransaction();
+        Question question = findWithTags(questionId);
         
         // Clear existing tags
         question.getTags().clear();
@@ -124,6 +149,74 @@ public class QuestionService {
             question.addTag(tag);
         }
         
-        return questionRepository.save(question);
+        return publishChanged(questionRepository.save(question));
+    }
+    
+    /**
+     * Counts matching questions per difficulty and per tag from the current bank's
+     * partition of the in-memory index. Only a keyword filter reaches the database,
+     * and then only for ids.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public QuestionFacets getFacets(String keyword, Collection<String> tagNames, Question.DifficultyLevel difficulty) {
+        BitSet keywordMatches = null;
+        if (keyword != null && !keyword.isBlank()) {
+            keywordMatches = new BitSet();
+            for (Integer id : questionRepository.findIdsByKeyword(keyword)) {
+                keywordMatches.set(id);
+            }
+        }
+        return questionIndex.facets(bankContext.currentBankId(), keywordMatches, tagNames, difficulty);
+    }
+    
+    /**
+     * Returns the related questions, or empty if the question is not in the current bank.
+     * Existence is checked in the question index, so only a question it does not know
+     * yet costs a query.
+     */
+    public Optional<List<Question>> getRelatedQuestions(Integer id, int limit) {
+        Long bankId = bankContext.currentBankId();
+        if (!questionIndex.contains(bankId, id) && !questionRepository.existsInBank(bankId, id)) {
+            return Optional.empty();
+        }
+        List<Integer> relatedIds = relatedQuestionIndex.relatedIds(id, limit);
+        if (relatedIds.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        Map<Integer, Question> questionsById = questionRepository.findAllById(relatedIds).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        // Keep the index's similarity order; ids deleted since the last refresh are skipped
+        return Optional.of(relatedIds.stream()
+                .map(questionsById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+    
+    /**
+     * Drops the current bank's partition of the question index and reloads it from
+     * that bank's table partitions. Other banks' partitions are not touched.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void evictBankCache() {
+        questionIndex.evictBank(bankContext.currentBankId());
+    }
+    
+    // New question_tags rows take their bank from the transaction; see bindBankToTransaction
+    private void bindBankToTransaction() {
+        questionRepository.bindBankToTransaction(bankContext.currentBankId());
+    }
+    
+    // Loads the tags up front so the change event and the response never lazy-load them
+    private Question findWithTags(Integer id) {
+        Question question = questionRepository.findByIdWithTags(id);
+        if (question == null) {
+            throw new RuntimeException("Question not found with id: " + id);
+        }
+        return question;
+    }
+    
+    private Question publishChanged(Question question) {
+        eventPublisher.publishEvent(QuestionChangedEvent.of(question));
+        return question;
     }
 } 
\ No newline at end of file
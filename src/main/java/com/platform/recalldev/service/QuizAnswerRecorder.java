@@ -0,0 +1,80 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.entity.QuizAnswer;
+import com.platform.recalldev.repository.QuizAnswerRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Writes quiz answers to Postgres in batches. Finished sessions are written straight
+ * away; answers drained from running, expired or evicted sessions are queued and
+ * written by the periodic flush and on shutdown.
+ */
+@Slf4j
+@Component
+public class QuizAnswerRecorder {
+
+    private final QuizAnswerRepository quizAnswerRepository;
+    private final ConcurrentLinkedQueue<QuizAnswer> queue = new ConcurrentLinkedQueue<>();
+    private final int batchSize;
+
+    @Autowired
+    public QuizAnswerRecorder(QuizAnswerRepository quizAnswerRepository,
+                              @Value("${recalldev.quiz.flush-batch-size:500}") int batchSize) {
+        this.quizAnswerRepository = quizAnswerRepository;
+        this.batchSize = batchSize;
+    }
+
+    public void enqueue(Collection<QuizAnswer> answers) {
+        queue.addAll(answers);
+    }
+
+    public void write(Collection<QuizAnswer> answers) {
+        quizAnswerRepository.insertAll(answers);
+    }
+
+    @Scheduled(fixedDelayString = "${recalldev.quiz.flush-interval-ms:5000}")
+    public void flush() {
+        List<QuizAnswer> batch = new ArrayList<>(batchSize);
+        QuizAnswer answer;
+        while ((answer = queue.poll()) != null) {
+            batch.add(answer);
+            if (batch.size() == batchSize) {
+                if (!writeQueued(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        writeQueued(batch);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private boolean writeQueued(List<QuizAnswer> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            quizAnswerRepository.insertAll(batch);
+            return true;
+        } catch (RuntimeException e) {
+            // Put the batch back so the next tick retries it instead of losing answers
+            queue.addAll(batch);
+            log.warn("Failed to flush {} quiz answers, will retry", batch.size(), e);
+            return false;
+        }
+    }
+}
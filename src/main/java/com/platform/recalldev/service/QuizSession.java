@@ -0,0 +1,95 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.entity.Question;
+import com.platform.recalldev.entity.QuizAnswer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory state of a running quiz: the ordered deck, the cards loaded so far and
+ * the answers not yet written to the database. Callers synchronize on the session.
+ */
+@Getter
+public class QuizSession {
+
+    private final String id;
+    private final Long bankId;
+    private final List<Integer> questionIds;
+    private final Map<Integer, Card> loadedCards = new HashMap<>();
+    private final List<QuizAnswer> pendingAnswers = new ArrayList<>();
+    private final Instant createdAt;
+    private volatile Instant lastAccessedAt;
+    private int position;
+    private int answeredCount;
+    private int correctCount;
+
+    public QuizSession(String id, Long bankId, List<Integer> questionIds, Instant createdAt) {
+        this.id = id;
+        this.bankId = bankId;
+        this.questionIds = List.copyOf(questionIds);
+        this.createdAt = createdAt;
+        this.lastAccessedAt = createdAt;
+    }
+
+    public int size() {
+        return questionIds.size();
+    }
+
+    public boolean isComplete() {
+        return position >= questionIds.size();
+    }
+
+    public Integer currentQuestionId() {
+        return isComplete() ? null : questionIds.get(position);
+    }
+
+    public void touch(Instant now) {
+        this.lastAccessedAt = now;
+    }
+
+    public void addCard(Card card) {
+        loadedCards.put(card.getQuestionId(), card);
+    }
+
+    /**
+     * Records the answer for the current card and moves to the next one. The answered
+     * card is dropped so a session only ever holds about one page of questions.
+     */
+    public Card recordAnswer(QuizAnswer answer) {
+        Card card = loadedCards.remove(answer.getQuestionId());
+        pendingAnswers.add(answer);
+        answeredCount++;
+        if (answer.isCorrect()) {
+            correctCount++;
+        }
+        position++;
+        return card;
+    }
+
+    public List<QuizAnswer> drainPendingAnswers() {
+        List<QuizAnswer> drained = new ArrayList<>(pendingAnswers);
+        pendingAnswers.clear();
+        return drained;
+    }
+
+    @Value
+    @AllArgsConstructor
+    public static class Card {
+        Integer questionId;
+        String questionText;
+        String questionAnswer;
+        Question.DifficultyLevel difficulty;
+
+        public static Card of(Question question) {
+            return new Card(question.getId(), question.getQuestionText(),
+                    question.getQuestionAnswer(), question.getDifficulty());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.bank.BankContext;
+import com.platform.recalldev.entity.Question;
+import com.platform.recalldev.entity.QuizAnswer;
+import com.platform.recalldev.repository.QuestionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Runs quiz sessions out of memory. Creating a session picks the whole deck and
+ * preloads its first page in one query; {@code next} and {@code answer} are then
+ * served from the {@link QuizSessionStore}, and answers are written in batches by
+ * the store's periodic drain and when the session finishes. A session only ever serves the bank it was created in.
+ */
+@Slf4j
+@Service
+public class QuizSessionService {
+
+    private final QuestionRepository questionRepository;
+    private final QuizSessionStore quizSessionStore;
+    private final QuizAnswerRecorder quizAnswerRecorder;
+    private final AttemptIngestionService attemptIngestionService;
+    private final BankContext bankContext;
+    private final int pageSize;
+    private final int maxDeckSize;
+
+    @Autowired
+    public QuizSessionService(QuestionRepository questionRepository,
+                              QuizSessionStore quizSessionStore,
+                              QuizAnswerRecorder quizAnswerRecorder,
+                              AttemptIngestionService attemptIngestionService,
+                              BankContext bankContext,
+                              @Value("${recalldev.quiz.page-size:25}") int pageSize,
+                              @Value("${recalldev.quiz.max-deck-size:100}") int maxDeckSize) {
+        this.questionRepository = questionRepository;
+        this.quizSessionStore = quizSessionStore;
+        this.quizAnswerRecorder = quizAnswerRecorder;
+        this.attemptIngestionService = attemptIngestionService;
+        this.bankContext = bankContext;
+        this.pageSize = pageSize;
+        this.maxDeckSize = maxDeckSize;
+    }
+
+    public QuizSession createSession(Collection<String> tagNames, Question.DifficultyLevel difficulty, int size) {
+        if (size < 1 || size > maxDeckSize) {
+            throw new IllegalArgumentException("Quiz size must be between 1 and " + maxDeckSize);
+        }
+        boolean filterByTags = tagNames != null && !tagNames.isEmpty();
+        // An empty IN list is not valid SQL, so pass a placeholder when tags are not filtered
+        Collection<String> tagParameter = filterByTags ? tagNames : List.of("");
+        Long bankId = bankContext.currentBankId();
+        List<QuestionRepository.DeckEntry> deck = questionRepository.findRandomDeck(
+                bankId, difficulty != null ? difficulty.name() : null, filterByTags, tagParameter, size, pageSize);
+
+        QuizSession session = new QuizSession(UUID.randomUUID().toString(), bankId,
+                deck.stream().map(QuestionRepository.DeckEntry::getId).toList(), Instant.now());
+        for (QuestionRepository.DeckEntry entry : deck) {
+            if (entry.getQuestionText() != null) {
+                session.addCard(new QuizSession.Card(entry.getId(), entry.getQuestionText(),
+                        entry.getQuestionAnswer(), Question.DifficultyLevel.valueOf(entry.getDifficulty())));
+            }
+        }
+
+        quizSessionStore.put(session);
+        return session;
+    }
+
+    public Optional<QuizSession> getSession(String sessionId) {
+        Long bankId = bankContext.currentBankId();
+        return quizSessionStore.get(sessionId)
+                .filter(session -> session.getBankId().equals(bankId));
+    }
+
+    /**
+     * Returns the card the session is waiting on, or empty once the deck is exhausted.
+     * Calling it again without answering returns the same card.
+     */
+    public Optional<QuizSession.Card> nextCard(String sessionId) {
+        QuizSession session = requireSession(sessionId);
+        synchronized (session) {
+            session.touch(Instant.now());
+            Integer questionId = session.currentQuestionId();
+            if (questionId == null) {
+                return Optional.empty();
+            }
+            QuizSession.Card card = session.getLoadedCards().get(questionId);
+            if (card == null) {
+                loadPage(session);
+                card = session.getLoadedCards().get(questionId);
+            }
+            return Optional.ofNullable(card);
+        }
+    }
+
+    public QuizSession.Card answer(String sessionId, Integer questionId, boolean correct, Integer latencyMs) {
+        QuizSession session = requireSession(sessionId);
+        synchronized (session) {
+            session.touch(Instant.now());
+            Integer expected = session.currentQuestionId();
+            if (expected == null) {
+                throw new IllegalStateException("Quiz session " + sessionId + " has no questions left");
+            }
+            if (!expected.equals(questionId)) {
+                throw new IllegalStateException("Quiz session " + sessionId + " expects an answer to question " + expected);
+            }
+            QuizAnswer answer = QuizAnswer.builder()
+                    .sessionId(sessionId)
+                    .questionId(questionId)
+                    .correct(correct)
+                    .latencyMs(latencyMs)
+                    .answeredAt(Instant.now())
+                    .build();
+            // Quiz answers also feed the accuracy stats; a refused attempt only drops the stat, not the answer
+            AttemptIngestionService.RecordResult result = attemptIngestionService.record(questionId, correct, latencyMs);
+            if (result == AttemptIngestionService.RecordResult.UNKNOWN_QUESTION) {
+                // Deleted since the deck was picked
+                log.warn("Answer to question {} in quiz session {} not counted in stats: question no longer exists",
+                        questionId, sessionId);
+            } else if (result == AttemptIngestionService.RecordResult.BUFFER_FULL) {
+                log.debug("Answer to question {} in quiz session {} not counted in stats: attempt buffer is full",
+                        questionId, sessionId);
+            }
+            return session.recordAnswer(answer);
+        }
+    }
+
+    public QuizSession finishSession(String sessionId) {
+        requireSession(sessionId);
+        QuizSession session = quizSessionStore.remove(sessionId)
+                .orElseThrow(() -> new RuntimeException("Quiz session not found with id: " + sessionId));
+        List<QuizAnswer> answers;
+        synchronized (session) {
+            answers = session.drainPendingAnswers();
+        }
+        try {
+            quizAnswerRecorder.write(answers);
+        } catch (RuntimeException e) {
+            // Fall back to the periodic flush rather than failing the user's quiz
+            quizAnswerRecorder.enqueue(answers);
+        }
+        return session;
+    }
+
+    private QuizSession requireSession(String sessionId) {
+        return getSession(sessionId)
+                .orElseThrow(() -> new RuntimeException("Quiz session not found with id: " + sessionId));
+    }
+
+    private void loadPage(QuizSession session) {
+        List<Integer> questionIds = session.getQuestionIds();
+        int from = session.getPosition();
+        int to = Math.min(from + pageSize, questionIds.size());
+        for (Question question : questionRepository.findAllById(questionIds.subList(from, to))) {
+            session.addCard(QuizSession.Card.of(question));
+        }
+    }
+}
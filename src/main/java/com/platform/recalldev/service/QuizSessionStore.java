@@ -0,0 +1,108 @@
+package com.platform.recalldev.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded store of running quiz sessions. Sessions are kept in access order so the
+ * least recently used one is evicted once {@code maxSessions} is reached, and idle
+ * sessions expire after {@code sessionTtl}. Answers of evicted or expired sessions
+ * are handed to the {@link QuizAnswerRecorder} so nothing is lost.
+ */
+@Component
+public class QuizSessionStore {
+
+    private final QuizAnswerRecorder quizAnswerRecorder;
+    private final Duration sessionTtl;
+    private final Map<String, QuizSession> sessions;
+
+    @Autowired
+    public QuizSessionStore(QuizAnswerRecorder quizAnswerRecorder,
+                            @Value("${recalldev.quiz.max-sessions:10000}") int maxSessions,
+                            @Value("${recalldev.quiz.session-ttl-ms:1800000}") long sessionTtlMs) {
+        this.quizAnswerRecorder = quizAnswerRecorder;
+        this.sessionTtl = Duration.ofMillis(sessionTtlMs);
+        this.sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuizSession> eldest) {
+                if (size() > maxSessions) {
+                    release(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized void put(QuizSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    public synchronized Optional<QuizSession> get(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    public synchronized Optional<QuizSession> remove(String sessionId) {
+        return Optional.ofNullable(sessions.remove(sessionId));
+    }
+
+    public synchronized int size() {
+        return sessions.size();
+    }
+
+    @Scheduled(fixedDelayString = "${recalldev.quiz.flush-interval-ms:5000}")
+    public void evictExpired() {
+        Instant cutoff = Instant.now().minus(sessionTtl);
+        List<QuizSession> expired = new ArrayList<>();
+        synchronized (this) {
+            // Access order means the idle sessions sit at the head of the map
+            Iterator<QuizSession> iterator = sessions.values().iterator();
+            while (iterator.hasNext()) {
+                QuizSession session = iterator.next();
+                if (session.getLastAccessedAt().isAfter(cutoff)) {
+                    break;
+                }
+                iterator.remove();
+                expired.add(session);
+            }
+        }
+        expired.forEach(this::release);
+    }
+
+    /**
+     * Hands the answers given so far in running sessions to the recorder, so they are
+     * written within one flush interval rather than when the session ends.
+     */
+    @Scheduled(fixedDelayString = "${recalldev.quiz.flush-interval-ms:5000}")
+    public void drainActive() {
+        snapshot().forEach(this::release);
+    }
+
+    // The store depends on the recorder, so it is destroyed first and the recorder's own shutdown flush writes these
+    @PreDestroy
+    public void shutdown() {
+        drainActive();
+    }
+
+    private synchronized List<QuizSession> snapshot() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    private void release(QuizSession session) {
+        synchronized (session) {
+            quizAnswerRecorder.enqueue(session.drainPendingAnswers());
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.repository.QuestionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Precomputed top-k related questions by Jaccard similarity of their tag sets.
+ * <p>
+ * Tag sets are kept as sorted tag id arrays with one posting bitset per tag, so
+ * scoring a question only visits questions sharing at least one of its tags. The
+ * neighbours live in two flat arrays holding {@code topK} slots per question id,
+ * which makes a lookup a copy of at most {@code topK} ints.
+ * <p>
+ * All writes run on a single updater thread. A full rebuild fans out over a
+ * fork-join pool; tag changes are applied incrementally by rescoring only the
+ * questions that share a tag with the changed question. A question whose score
+ * drops keeps its slot with the new score until the next periodic rebuild.
+ */
+@Slf4j
+@Component
+public class RelatedQuestionIndex implements WarmupTask {
+
+    private static final int EMPTY = 0;
+
+    private final QuestionRepository questionRepository;
+    private final int topK;
+    private final ForkJoinPool forkJoinPool;
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "related-questions-updater");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Written only by the updater thread; rows are published under the write lock
+    private int[][] tagIds = new int[0][];
+    private Map<Integer, BitSet> questionsByTag = new HashMap<>();
+    private int[] neighbours = new int[0];
+    private float[] scores = new float[0];
+
+    @Autowired
+    public RelatedQuestionIndex(QuestionRepository questionRepository,
+                                @Value("${recalldev.related.top-k:10}") int topK,
+                                @Value("${recalldev.related.parallelism:0}") int parallelism) {
+        this.questionRepository = questionRepository;
+        this.topK = topK;
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public void warmUp() {
+        try {
+            updater.submit(this::rebuild).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building related questions", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to build related questions", e.getCause());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${recalldev.related.refresh-interval-ms:3600000}",
+            fixedDelayString = "${recalldev.related.refresh-interval-ms:3600000}")
+    public void scheduleRebuild() {
+        updater.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionChanged(QuestionChangedEvent event) {
+        int[] newTags = event.isDeleted() ? null : event.getTagNamesById().keySet().stream()
+                .mapToInt(Integer::intValue).sorted().toArray();
+        updater.execute(() -> applyChange(event.getQuestionId(), newTags));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        // Deleting a tag rescores every question that had it, so just rebuild
+        if (event.isDeleted()) {
+            scheduleRebuild();
+        }
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} related questions, most similar first.
+     */
+    public List<Integer> relatedIds(int questionId, int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Integer> related = new ArrayList<>(Math.min(limit, topK));
+            int base = questionId * topK;
+            if (questionId < 0 || base >= neighbours.length) {
+                return related;
+            }
+            for (int slot = 0; slot < topK && related.size() < limit; slot++) {
+                int neighbour = neighbours[base + slot];
+                if (neighbour == EMPTY) {
+                    break;
+                }
+                related.add(neighbour);
+            }
+            return related;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until the changes queued so far have been applied.
+     */
+    void awaitUpdates() throws InterruptedException, ExecutionException {
+        updater.submit(() -> { }).get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+        forkJoinPool.shutdownNow();
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        Map<Integer, List<Integer>> tagsByQuestion = new HashMap<>();
+        int maxQuestionId = 0;
+        for (QuestionRepository.TagMembership row : questionRepository.findAllTagMemberships()) {
+            tagsByQuestion.computeIfAbsent(row.getQuestionId(), id -> new ArrayList<>()).add(row.getTagId());
+            maxQuestionId = Math.max(maxQuestionId, row.getQuestionId());
+        }
+
+        int capacity = maxQuestionId + 1;
+        int[][] rebuiltTagIds = new int[capacity][];
+        Map<Integer, BitSet> rebuiltQuestionsByTag = new HashMap<>();
+        tagsByQuestion.forEach((questionId, questionTags) -> {
+            rebuiltTagIds[questionId] = questionTags.stream().mapToInt(Integer::intValue).sorted().toArray();
+            for (int tagId : rebuiltTagIds[questionId]) {
+                rebuiltQuestionsByTag.computeIfAbsent(tagId, key -> new BitSet()).set(questionId);
+            }
+        });
+
+        int[] rebuiltNeighbours = new int[capacity * topK];
+        float[] rebuiltScores = new float[capacity * topK];
+        int chunk = Math.max(64, capacity / (forkJoinPool.getParallelism() * 4));
+        forkJoinPool.invoke(new ScoreRange(rebuiltTagIds, rebuiltQuestionsByTag,
+                rebuiltNeighbours, rebuiltScores, 0, capacity, chunk));
+
+        lock.writeLock().lock();
+        try {
+            tagIds = rebuiltTagIds;
+            questionsByTag = rebuiltQuestionsByTag;
+            neighbours = rebuiltNeighbours;
+            scores = rebuiltScores;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Rebuilt related questions for {} questions in {} ms",
+                tagsByQuestion.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void applyChange(int questionId, int[] newTags) {
+        int[] oldTags = questionId < tagIds.length ? tagIds[questionId] : null;
+        if (Arrays.equals(oldTags, newTags)) {
+            return;
+        }
+
+        // Tag sets and postings are only read by this thread, so they can be updated without the lock
+        if (questionId >= tagIds.length) {
+            tagIds = Arrays.copyOf(tagIds, Math.max(questionId + 1, tagIds.length * 3 / 2 + 16));
+        }
+        BitSet affected = new BitSet();
+        if (oldTags != null) {
+            for (int tagId : oldTags) {
+                BitSet members = questionsByTag.get(tagId);
+                members.clear(questionId);
+                affected.or(members);
+            }
+        }
+        tagIds[questionId] = newTags;
+        if (newTags != null) {
+            for (int tagId : newTags) {
+                BitSet members = questionsByTag.computeIfAbsent(tagId, key -> new BitSet());
+                affected.or(members);
+                members.set(questionId);
+            }
+        }
+        affected.clear(questionId);
+
+        int capacity = tagIds.length;
+        int[] rowIds = new int[topK];
+        float[] rowScores = new float[topK];
+        if (newTags != null) {
+            scoreRow(questionId, tagIds, questionsByTag, new int[capacity], rowIds, rowScores, 0);
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (neighbours.length < capacity * topK) {
+                neighbours = Arrays.copyOf(neighbours, capacity * topK);
+                scores = Arrays.copyOf(scores, capacity * topK);
+            }
+            System.arraycopy(rowIds, 0, neighbours, questionId * topK, topK);
+            System.arraycopy(rowScores, 0, scores, questionId * topK, topK);
+            for (int other = affected.nextSetBit(0); other >= 0; other = affected.nextSetBit(other + 1)) {
+                float score = newTags == null ? 0f : jaccard(tagIds[other], newTags);
+                offer(neighbours, scores, other * topK, questionId, score);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scores one question against every question sharing a tag with it and writes
+     * its top-k row at {@code offset}. {@code overlap} is scratch space indexed by
+     * question id and is left zeroed on return.
+     */
+    private void scoreRow(int questionId, int[][] allTagIds, Map<Integer, BitSet> postings,
+                          int[] overlap, int[] rowIds, float[] rowScores, int offset) {
+        int[] questionTags = allTagIds[questionId];
+        BitSet candidates = new BitSet();
+        for (int tagId : questionTags) {
+            BitSet members = postings.get(tagId);
+            for (int other = members.nextSetBit(0); other >= 0; other = members.nextSetBit(other + 1)) {
+                overlap[other]++;
+                candidates.set(other);
+            }
+        }
+        candidates.clear(questionId);
+        overlap[questionId] = 0;
+        for (int other = candidates.nextSetBit(0); other >= 0; other = candidates.nextSetBit(other + 1)) {
+            int shared = overlap[other];
+            overlap[other] = 0;
+            float score = (float) shared / (questionTags.length + allTagIds[other].length - shared);
+            offer(rowIds, rowScores, offset, other, score);
+        }
+    }
+
+    /**
+     * Places {@code candidate} in the row at {@code offset}, which is kept sorted by
+     * descending score and then ascending id. A score of zero removes it.
+     */
+    private void offer(int[] rowIds, float[] rowScores, int offset, int candidate, float score) {
+        int end = offset + topK;
+        int existing = -1;
+        for (int slot = offset; slot < end && rowIds[slot] != EMPTY; slot++) {
+            if (rowIds[slot] == candidate) {
+                existing = slot;
+                break;
+            }
+        }
+        if (existing >= 0) {
+            // Drop the current entry and fall through to re-insert it with the new score
+            System.arraycopy(rowIds, existing + 1, rowIds, existing, end - existing - 1);
+            System.arraycopy(rowScores, existing + 1, rowScores, existing, end - existing - 1);
+            rowIds[end - 1] = EMPTY;
+            rowScores[end - 1] = 0f;
+        }
+        if (score <= 0f) {
+            return;
+        }
+        int position = end;
+        for (int slot = offset; slot < end; slot++) {
+            if (rowIds[slot] == EMPTY || score > rowScores[slot]
+                    || (score == rowScores[slot] && candidate < rowIds[slot])) {
+                position = slot;
+                break;
+            }
+        }
+        if (position == end) {
+            return;
+        }
+        System.arraycopy(rowIds, position, rowIds, position + 1, end - position - 1);
+        System.arraycopy(rowScores, position, rowScores, position + 1, end - position - 1);
+        rowIds[position] = candidate;
+        rowScores[position] = score;
+    }
+
+    private static float jaccard(int[] left, int[] right) {
+        if (left == null || right == null) {
+            return 0f;
+        }
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared == 0 ? 0f : (float) shared / (left.length + right.length - shared);
+    }
+
+    private class ScoreRange extends RecursiveAction {
+        private final int[][] allTagIds;
+        private final Map<Integer, BitSet> postings;
+        private final int[] rowIds;
+        private final float[] rowScores;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        private ScoreRange(int[][] allTagIds, Map<Integer, BitSet> postings, int[] rowIds, float[] rowScores,
+                           int from, int to, int chunk) {
+            this.allTagIds = allTagIds;
+            this.postings = postings;
+            this.rowIds = rowIds;
+            this.rowScores = rowScores;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunk) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ScoreRange(allTagIds, postings, rowIds, rowScores, from, middle, chunk),
+                        new ScoreRange(allTagIds, postings, rowIds, rowScores, middle, to, chunk));
+                return;
+            }
+            int[] overlap = new int[allTagIds.length];
+            for (int questionId = from; questionId < to; questionId++) {
+                if (allTagIds[questionId] != null) {
+                    scoreRow(questionId, allTagIds, postings, overlap, rowIds, rowScores, questionId * topK);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.platform.recalldev.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs every {@link WarmupTask} in the background after startup so that loading
+ * indexes and counters never delays the application context. Failed tasks are
+ * retried until they succeed; {@link #isComplete()} drives the readiness probe.
+ */
+@Slf4j
+@Component
+public class StartupWarmup {
+
+    private final List<WarmupTask> tasks;
+    private final long retryDelayMs;
+    private volatile boolean complete;
+
+    @Autowired
+    public StartupWarmup(List<WarmupTask> tasks,
+                         @Value("${recalldev.warmup.retry-delay-ms:5000}") long retryDelayMs) {
+        this.tasks = tasks;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::run, "startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        List<WarmupTask> pending = new ArrayList<>(tasks);
+        while (!pending.isEmpty()) {
+            List<WarmupTask> failed = runAll(pending);
+            if (failed.isEmpty()) {
+                break;
+            }
+            log.warn("{} warmup task(s) failed, retrying in {} ms", failed.size(), retryDelayMs);
+            try {
+                Thread.sleep(retryDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pending = failed;
+        }
+        complete = true;
+        log.info("Warmup of {} task(s) finished in {} ms", tasks.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private List<WarmupTask> runAll(List<WarmupTask> pending) {
+        List<CompletableFuture<WarmupTask>> results = pending.stream()
+                .map(task -> CompletableFuture.runAsync(task::warmUp)
+                        .handle((ignored, error) -> {
+                            if (error == null) {
+                                return null;
+                            }
+                            log.warn("Warmup of {} failed", task.getClass().getSimpleName(), error);
+                            return task;
+                        }))
+                .toList();
+        List<WarmupTask> failed = new ArrayList<>();
+        for (CompletableFuture<WarmupTask> result : results) {
+            WarmupTask task = result.join();
+            if (task != null) {
+                failed.add(task);
+            }
+        }
+        return failed;
+    }
+}
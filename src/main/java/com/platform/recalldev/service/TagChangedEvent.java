@@ -0,0 +1,14 @@
+package com.platform.recalldev.service;
+
+import lombok.Value;
+
+/**
+ * Published by {@link TagService} when a tag is created, renamed or deleted.
+ */
+@Value
+public class TagChangedEvent {
+    Long bankId;
+    Integer tagId;
+    String name;
+    boolean deleted;
+}
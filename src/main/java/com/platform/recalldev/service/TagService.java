@@ -1,12 +1,17 @@
 package com.platform.recalldev.service;
 
+import com.platform.recalldev.bank.BankContext;
 import com.platform.recalldev.entity.Tag;
 import com.platform.recalldev.repository.TagRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,26 +19,39 @@ import java.util.Optional;
 public class TagService {
     
     private final TagRepository tagRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BankContext bankContext;
     
     @Autowired
-    public TagService(TagRepository tagRepository) {
+    public TagService(TagRepository tagRepository, ApplicationEventPublisher eventPublisher, BankContext bankContext) {
         this.tagRepository = tagRepository;
+        this.eventPublisher = eventPublisher;
+        this.bankContext = bankContext;
     }
     
     public List<Tag> getAllTags() {
         return tagRepository.findAll();
     }
     
-    public List<Tag> getAllTagsWithQuestions() {
-        return tagRepository.findAllWithQuestions();
+    /**
+     * Maps each tag id to the sorted ids of its questions; tags without questions are absent.
+     */
+    public Map<Integer, List<Integer>> getQuestionIdsByTag() {
+        Map<Integer, List<Integer>> questionIdsByTag = new HashMap<>();
+        for (TagRepository.TagQuestionId row : tagRepository.findAllQuestionIds(bankContext.currentBankId())) {
+            questionIdsByTag.computeIfAbsent(row.getTagId(), tagId -> new ArrayList<>()).add(row.getQuestionId());
+        }
+        return questionIdsByTag;
     }
     
     public Optional<Tag> getTagById(Integer id) {
         return tagRepository.findById(id);
     }
     
-    public Tag getTagByIdWithQuestions(Integer id) {
-        return tagRepository.findByIdWithQuestions(id);
+    public List<Integer> getQuestionIds(Integer tagId) {
+        return tagRepository.findQuestionIdsByTagId(bankContext.currentBankId(), tagId).stream()
+                .map(TagRepository.TagQuestionId::getQuestionId)
+                .toList();
     }
     
     public Optional<Tag> getTagByName(String name) {
@@ -41,7 +59,7 @@ public class TagService {
     }
     
     public Tag saveTag(Tag tag) {
-        return tagRepository.save(tag);
+        return publishChanged(tagRepository.save(tag));
     }
     
     public Tag createTag(String name) {
@@ -52,7 +70,7 @@ public class TagService {
         }
         
         Tag tag = Tag.builder().name(name).build();
-        return tagRepository.save(tag);
+        return publishChanged(tagRepository.save(tag));
     }
     
     public Tag updateTag(Integer id, String name) {
@@ -66,11 +84,15 @@ public class TagService {
         }
         
         tag.setName(name);
-        return tagRepository.save(tag);
+        return publishChanged(tagRepository.save(tag));
     }
     
     public void deleteTag(Integer id) {
-        tagRepository.deleteById(id);
+        // Looked up through the bank-scoped findById so another bank's tag is never deleted
+        tagRepository.findById(id).ifPresent(tag -> {
+            tagRepository.delete(tag);
+            eventPublisher.publishEvent(new TagChangedEvent(tag.getBankId(), id, null, true));
+        });
     }
     
     public List<Tag> searchTags(String keyword) {
@@ -78,15 +100,20 @@ public class TagService {
     }
     
     public List<Tag> getTagsWithQuestions() {
-        return tagRepository.findTagsWithQuestions();
+        return tagRepository.findTagsWithQuestions(bankContext.currentBankId());
     }
     
     public List<Tag> getTagsWithoutQuestions() {
-        return tagRepository.findTagsWithoutQuestions();
+        return tagRepository.findTagsWithoutQuestions(bankContext.currentBankId());
     }
     
     public Tag getOrCreateTag(String name) {
         return tagRepository.findByName(name)
-                .orElseGet(() -> tagRepository.save(Tag.builder().name(name).build()));
+                .orElseGet(() -> publishChanged(tagRepository.save(Tag.builder().name(name).build())));
+    }
+    
+    private Tag publishChanged(Tag tag) {
+        eventPublisher.publishEvent(new TagChangedEvent(tag.getBankId(), tag.getId(), tag.getName(), false));
+        return tag;
     }
 } 
\ No newline at end of file
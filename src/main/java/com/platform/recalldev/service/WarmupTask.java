@@ -0,0 +1,11 @@
+package com.platform.recalldev.service;
+
+/**
+ * An in-memory structure that must be loaded before the instance takes traffic.
+ * Tasks are run in the background by {@link StartupWarmup} once the application
+ * has started, and must be safe to retry after a failure.
+ */
+public interface WarmupTask {
+
+    void warmUp();
+}
@@ -0,0 +1,133 @@
+package com.platform.recalldev.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitsUpToTheLimitWithoutWaiting() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(3, 10, 0, 1000));
+
+        assertTrue(limiter.acquire());
+        assertTrue(limiter.acquire());
+        assertTrue(limiter.acquire());
+        assertEquals(3, limiter.getInFlight());
+    }
+
+    @Test
+    void rejectsAtOnceWhenTheQueueIsFull() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(1, 10, 0, 10_000));
+        assertTrue(limiter.acquire());
+
+        long started = System.nanoTime();
+        assertFalse(limiter.acquire());
+        // A full queue must not wait out the ten-second timeout
+        assertTrue(System.nanoTime() - started < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void queuedRequestTimesOutWhenNoPermitIsReleased() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(1, 10, 1, 50));
+        assertTrue(limiter.acquire());
+
+        long started = System.nanoTime();
+        assertFalse(limiter.acquire());
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void queuedRequestGetsThePermitOnRelease() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(1, 10, 1, 5_000));
+        assertTrue(limiter.acquire());
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(waiter.isDone());
+
+        limiter.release(FAST);
+        assertTrue(waiter.get(1, TimeUnit.SECONDS));
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void slowResponsesShrinkTheLimitDownToTheMinimum() throws InterruptedException {
+        AdmissionProperties.Limits limits = limits(8, 10, 0, 1000);
+        limits.setBackoffRatio(0.5);
+        limits.setMinLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits);
+
+        limiter.acquire();
+        limiter.release(SLOW);
+        assertEquals(4, limiter.getLimit());
+
+        limiter.acquire();
+        limiter.release(SLOW);
+        limiter.acquire();
+        limiter.release(SLOW);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void fastResponsesAtHighUtilisationGrowTheLimitUpToTheMaximum() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(2, 3, 0, 1000));
+
+        // 2 -> 2.5 -> 2.9 -> 3.24, growing only on the release that ran at full concurrency
+        for (int round = 0; round < 3; round++) {
+            assertTrue(limiter.acquire());
+            assertTrue(limiter.acquire());
+            limiter.release(FAST);
+            limiter.release(FAST);
+        }
+        assertEquals(3, limiter.getLimit());
+
+        for (int round = 0; round < 20; round++) {
+            limiter.acquire();
+            limiter.acquire();
+            limiter.acquire();
+            limiter.release(FAST);
+            limiter.release(FAST);
+            limiter.release(FAST);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    void fastResponsesAtLowUtilisationLeaveTheLimitAlone() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(limits(10, 20, 0, 1000));
+
+        for (int round = 0; round < 50; round++) {
+            limiter.acquire();
+            limiter.release(FAST);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    private static AdmissionProperties.Limits limits(int initialLimit, int maxLimit, int maxQueue, long queueTimeoutMs) {
+        AdmissionProperties.Limits limits = new AdmissionProperties.Limits();
+        limits.setInitialLimit(initialLimit);
+        limits.setMaxLimit(maxLimit);
+        limits.setMaxQueue(maxQueue);
+        limits.setQueueTimeoutMs(queueTimeoutMs);
+        limits.setLatencyTargetMs(100);
+        return limits;
+    }
+}
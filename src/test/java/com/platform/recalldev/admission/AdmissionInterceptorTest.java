@@ -0,0 +1,66 @@
+package com.platform.recalldev.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdmissionInterceptorTest {
+
+    private AdmissionInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void fillTheHeavyBulkhead() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        AdmissionProperties.Limits heavy = new AdmissionProperties.Limits();
+        heavy.setInitialLimit(1);
+        heavy.setMaxLimit(1);
+        heavy.setMaxQueue(0);
+        properties.getClasses().put(CostClass.HEAVY, heavy);
+        interceptor = new AdmissionInterceptor(properties);
+        handler = new HandlerMethod(new SampleController(), SampleController.class.getMethod("list", boolean.class));
+
+        // Takes the only HEAVY permit, so every later request classified HEAVY is shed
+        assertTrue(preHandle("true", new MockHttpServletResponse()));
+    }
+
+    @Test
+    void parameterValuesThatBindToTrueAreHeavy() throws Exception {
+        for (String value : new String[]{"true", "TRUE", "1", "yes", "on"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            assertFalse(preHandle(value, response), value);
+            assertEquals(503, response.getStatus());
+            assertEquals("1", response.getHeader("Retry-After"));
+        }
+    }
+
+    @Test
+    void otherParameterValuesKeepTheHandlersClass() throws Exception {
+        for (String value : new String[]{"false", "0", "no", "off", "", "maybe", null}) {
+            assertTrue(preHandle(value, new MockHttpServletResponse()), String.valueOf(value));
+        }
+    }
+
+    private boolean preHandle(String includeTags, MockHttpServletResponse response) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/samples");
+        if (includeTags != null) {
+            request.setParameter("includeTags", includeTags);
+        }
+        return interceptor.preHandle(request, response, handler);
+    }
+
+    @Admission(CostClass.LIGHT)
+    static class SampleController {
+
+        @Admission(value = CostClass.MEDIUM, heavyIf = "includeTags")
+        public void list(boolean includeTags) {
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.platform.recalldev.bank;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BankInterceptorTest {
+
+    private static final String BANK_IDS = "SELECT id FROM banks";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BankProperties properties = new BankProperties();
+    private final BankContext bankContext = new BankContext(properties);
+
+    @Test
+    void bindsAnExistingBank() {
+        when(jdbcTemplate.queryForList(BANK_IDS, Long.class)).thenReturn(List.of(1L, 2L));
+        BankInterceptor interceptor = interceptor(Duration.ofHours(1));
+
+        assertTrue(preHandle(interceptor, "2"));
+        assertEquals(2L, bankContext.currentBankId());
+        assertTrue(preHandle(interceptor, "1"));
+        // Both ids came from the one load
+        verify(jdbcTemplate, times(1)).queryForList(BANK_IDS, Long.class);
+    }
+
+    @Test
+    void rejectsAnUnknownBankWithNotFound() {
+        when(jdbcTemplate.queryForList(BANK_IDS, Long.class)).thenReturn(List.of(1L));
+        BankInterceptor interceptor = interceptor(Duration.ofHours(1));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> preHandle(interceptor, "99"));
+        assertEquals(HttpStatus.NOT_FOUND, e.getStatusCode());
+        assertThrows(ResponseStatusException.class, () -> preHandle(interceptor, "98"));
+        // The second miss falls within the refresh interval, so it does not query again
+        verify(jdbcTemplate, times(1)).queryForList(BANK_IDS, Long.class);
+    }
+
+    @Test
+    void anUnknownBankReloadsTheIdsToFindNewBanks() {
+        when(jdbcTemplate.queryForList(BANK_IDS, Long.class)).thenReturn(List.of(1L), List.of(1L, 3L));
+        BankInterceptor interceptor = interceptor(Duration.ZERO);
+
+        assertTrue(preHandle(interceptor, "1"));
+        assertTrue(preHandle(interceptor, "3"));
+        assertEquals(3L, bankContext.currentBankId());
+    }
+
+    @Test
+    void rejectsMalformedIdsWithoutQuerying() {
+        BankInterceptor interceptor = interceptor(Duration.ZERO);
+
+        for (String header : new String[]{"abc", "0", "-1"}) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> preHandle(interceptor, header));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+        verify(jdbcTemplate, never()).queryForList(BANK_IDS, Long.class);
+    }
+
+    @Test
+    void requestsWithoutTheHeaderUseTheDefaultBank() {
+        BankInterceptor interceptor = interceptor(Duration.ZERO);
+
+        assertTrue(preHandle(interceptor, null));
+        assertEquals(1L, bankContext.currentBankId());
+        verify(jdbcTemplate, never()).queryForList(BANK_IDS, Long.class);
+    }
+
+    private BankInterceptor interceptor(Duration minRefreshInterval) {
+        properties.setMinRefreshInterval(minRefreshInterval);
+        return new BankInterceptor(bankContext, new BankRegistry(jdbcTemplate, properties), properties);
+    }
+
+    private boolean preHandle(BankInterceptor interceptor, String bankId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/questions");
+        if (bankId != null) {
+            request.addHeader(properties.getHeader(), bankId);
+        }
+        return interceptor.preHandle(request, new MockHttpServletResponse(), null);
+    }
+}
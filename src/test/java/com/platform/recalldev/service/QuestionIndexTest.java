@@ -0,0 +1,224 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.entity.Question.DifficultyLevel;
+import com.platform.recalldev.repository.QuestionRepository;
+import com.platform.recalldev.repository.TagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuestionIndexTest {
+
+    private static final Long BANK = 1L;
+    private static final Long OTHER_BANK = 2L;
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final TagRepository tagRepository = mock(TagRepository.class);
+    private final QuestionIndex index = new QuestionIndex(questionRepository, tagRepository);
+
+    // Bank 1: 1 EASY [java], 2 MEDIUM [java, spring], 3 HARD [algorithms], 4 EASY []
+    // Bank 2: 5 EASY [java], with its own java tag
+    private final List<TagRepository.BankTag> tags = List.of(
+            tag(10, BANK, "java"), tag(11, BANK, "spring"), tag(12, BANK, "algorithms"), tag(20, OTHER_BANK, "java"));
+    private final List<QuestionRepository.IndexEntry> questions = List.of(
+            question(1, BANK, DifficultyLevel.EASY), question(2, BANK, DifficultyLevel.MEDIUM),
+            question(3, BANK, DifficultyLevel.HARD), question(4, BANK, DifficultyLevel.EASY),
+            question(5, OTHER_BANK, DifficultyLevel.EASY));
+    private final List<QuestionRepository.TagMembership> memberships = List.of(
+            membership(1, 10), membership(2, 10), membership(2, 11), membership(3, 12), membership(5, 20));
+
+    @BeforeEach
+    void loadIndex() {
+        when(tagRepository.findAllAcrossBanks()).thenReturn(tags);
+        when(questionRepository.findAllIndexEntries()).thenReturn(questions);
+        when(questionRepository.findAllTagMemberships()).thenReturn(memberships);
+        index.rebuild();
+    }
+
+    @Test
+    void facetsCountEachFacetWithoutItsOwnFilter() {
+        QuestionFacets facets = index.facets(BANK, null, List.of("java"), DifficultyLevel.EASY);
+
+        assertEquals(1, facets.getTotal());
+        // Java questions per difficulty, whatever the selected difficulty
+        assertEquals(Map.of(DifficultyLevel.EASY, 1, DifficultyLevel.MEDIUM, 1, DifficultyLevel.HARD, 0),
+                facets.getDifficulties());
+        // Easy questions per tag, whatever the selected tags
+        assertEquals(Map.of("algorithms", 0, "java", 1, "spring", 0), facets.getTags());
+    }
+
+    @Test
+    void facetsWithoutFiltersCountTheWholeBank() {
+        QuestionFacets facets = index.facets(BANK, null, null, null);
+
+        assertEquals(4, facets.getTotal());
+        assertEquals(Map.of(DifficultyLevel.EASY, 2, DifficultyLevel.MEDIUM, 1, DifficultyLevel.HARD, 1),
+                facets.getDifficulties());
+        assertEquals(Map.of("algorithms", 1, "java", 2, "spring", 1), facets.getTags());
+    }
+
+    @Test
+    void facetsApplyTheKeywordMatchesToEveryFacet() {
+        BitSet keywordMatches = new BitSet();
+        keywordMatches.set(2);
+        keywordMatches.set(3);
+
+        QuestionFacets facets = index.facets(BANK, keywordMatches, List.of("spring"), DifficultyLevel.HARD);
+
+        assertEquals(0, facets.getTotal());
+        assertEquals(Map.of(DifficultyLevel.EASY, 0, DifficultyLevel.MEDIUM, 1, DifficultyLevel.HARD, 0),
+                facets.getDifficulties());
+        assertEquals(Map.of("algorithms", 1, "java", 0, "spring", 0), facets.getTags());
+    }
+
+    @Test
+    void facetsOnlyCountTheBanksOwnQuestionsAndTags() {
+        QuestionFacets facets = index.facets(OTHER_BANK, null, List.of("java"), null);
+
+        assertEquals(1, facets.getTotal());
+        assertEquals(Map.of("java", 1), facets.getTags());
+        assertEquals(0, index.facets(3L, null, null, null).getTotal());
+    }
+
+    @Test
+    void groupsTheBanksQuestionIdsByTagAndDifficulty() {
+        assertEquals(Map.of("algorithms", bits(3), "java", bits(1, 2), "spring", bits(2)), index.questionIdsByTag(BANK));
+        assertEquals(Map.of(DifficultyLevel.EASY, bits(1, 4), DifficultyLevel.MEDIUM, bits(2), DifficultyLevel.HARD, bits(3)),
+                index.questionIdsByDifficulty(BANK));
+    }
+
+    @Test
+    void evictBankReplacesOnlyThatBanksPartition() {
+        when(tagRepository.findAllByBankId(BANK)).thenReturn(List.of(tag(10, BANK, "java")));
+        when(questionRepository.findIndexEntriesByBankId(BANK)).thenReturn(List.of(
+                question(1, BANK, DifficultyLevel.HARD), question(6, BANK, DifficultyLevel.MEDIUM)));
+        when(questionRepository.findTagMembershipsByBankId(BANK)).thenReturn(List.of(membership(6, 10)));
+
+        index.evictBank(BANK);
+
+        assertTrue(index.contains(BANK, 1));
+        assertFalse(index.contains(BANK, 2));
+        assertTrue(index.contains(BANK, 6));
+        assertEquals(Map.of("java", bits(6)), index.questionIdsByTag(BANK));
+        assertEquals(Map.of(DifficultyLevel.EASY, new BitSet(), DifficultyLevel.MEDIUM, bits(6), DifficultyLevel.HARD, bits(1)),
+                index.questionIdsByDifficulty(BANK));
+        // The other bank keeps its partition
+        assertTrue(index.contains(OTHER_BANK, 5));
+        assertEquals(Map.of("java", bits(5)), index.questionIdsByTag(OTHER_BANK));
+    }
+
+    @Test
+    void rebuildReplaysChangesAppliedWhileItWasLoading() {
+        when(questionRepository.findAllIndexEntries()).thenAnswer(invocation -> {
+            // Committed after the load read its rows
+            index.onQuestionChanged(new QuestionChangedEvent(BANK, 6, DifficultyLevel.HARD, Map.of(11, "spring"), false));
+            index.onQuestionChanged(QuestionChangedEvent.deleted(BANK, 3));
+            index.onTagChanged(new TagChangedEvent(BANK, 10, "kotlin", false));
+            return questions;
+        });
+
+        index.rebuild();
+
+        assertTrue(index.contains(BANK, 6));
+        assertFalse(index.contains(BANK, 3));
+        assertEquals(Map.of("kotlin", bits(1, 2), "spring", bits(2, 6)), index.questionIdsByTag(BANK));
+    }
+
+    @Test
+    void evictBankReplaysChangesAppliedWhileItWasLoading() {
+        when(tagRepository.findAllByBankId(BANK)).thenReturn(tags.subList(0, 3));
+        when(questionRepository.findIndexEntriesByBankId(BANK)).thenAnswer(invocation -> {
+            index.onQuestionChanged(QuestionChangedEvent.deleted(BANK, 1));
+            return questions.subList(0, 4);
+        });
+        when(questionRepository.findTagMembershipsByBankId(BANK)).thenReturn(memberships.subList(0, 4));
+
+        index.evictBank(BANK);
+
+        assertFalse(index.contains(BANK, 1));
+        assertTrue(index.contains(BANK, 2));
+        assertEquals(Map.of("algorithms", bits(3), "java", bits(2), "spring", bits(2)), index.questionIdsByTag(BANK));
+    }
+
+    @Test
+    void failedLoadKeepsTheCurrentState() {
+        when(questionRepository.findAllIndexEntries()).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, index::rebuild);
+        index.onQuestionChanged(QuestionChangedEvent.deleted(BANK, 4));
+
+        assertTrue(index.contains(BANK, 1));
+        assertFalse(index.contains(BANK, 4));
+        assertEquals(3, index.facets(BANK, null, null, null).getTotal());
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+
+    private static TagRepository.BankTag tag(int id, Long bankId, String name) {
+        return new TagRepository.BankTag() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBankId() {
+                return bankId;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    private static QuestionRepository.IndexEntry question(int id, Long bankId, DifficultyLevel difficulty) {
+        return new QuestionRepository.IndexEntry() {
+            @Override
+            public Integer getQuestionId() {
+                return id;
+            }
+
+            @Override
+            public Long getBankId() {
+                return bankId;
+            }
+
+            @Override
+            public String getDifficulty() {
+                return difficulty.name();
+            }
+        };
+    }
+
+    private static QuestionRepository.TagMembership membership(int questionId, int tagId) {
+        return new QuestionRepository.TagMembership() {
+            @Override
+            public Integer getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public Integer getTagId() {
+                return tagId;
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.platform.recalldev.service;
+
+import com.platform.recalldev.entity.Question.DifficultyLevel;
+import com.platform.recalldev.repository.QuestionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RelatedQuestionIndexTest {
+
+    private static final Long BANK = 1L;
+
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private RelatedQuestionIndex index;
+
+    @AfterEach
+    void shutDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void rebuildRanksByJaccardSimilarityThenById() {
+        build(10, Map.of(1, List.of(1, 2), 2, List.of(1, 2), 3, List.of(1), 4, List.of(2), 5, List.of(3)));
+
+        assertEquals(List.of(2, 3, 4), index.relatedIds(1, 10));
+        assertEquals(List.of(1, 3), index.relatedIds(2, 2));
+        assertEquals(List.of(), index.relatedIds(5, 10));
+        assertEquals(List.of(), index.relatedIds(99, 10));
+        assertEquals(List.of(), index.relatedIds(1, 0));
+    }
+
+    @Test
+    void rebuildKeepsOnlyTheTopKPerQuestion() {
+        build(2, Map.of(1, List.of(1, 2), 2, List.of(1, 2), 3, List.of(1), 4, List.of(2)));
+
+        assertEquals(List.of(2, 3), index.relatedIds(1, 10));
+    }
+
+    @Test
+    void addingATagScoresTheQuestionAndTheQuestionsSharingIt() throws Exception {
+        build(10, Map.of(1, List.of(1, 2), 2, List.of(1, 2), 3, List.of(1), 4, List.of(2), 5, List.of(3)));
+
+        change(5, 1, 3);
+
+        assertEquals(List.of(3, 1, 2), index.relatedIds(5, 10));
+        // Question 5 now ties with 1 and 2 at 0.5 and sorts after them by id
+        assertEquals(List.of(1, 2, 5), index.relatedIds(3, 10));
+        assertEquals(List.of(2, 3, 4, 5), index.relatedIds(1, 10));
+    }
+
+    @Test
+    void removingATagRescoresTheQuestionsThatShareIt() throws Exception {
+        build(10, Map.of(1, List.of(1, 2), 2, List.of(1, 2), 3, List.of(1), 4, List.of(2)));
+
+        change(1, 1);
+
+        assertEquals(List.of(3, 2), index.relatedIds(1, 10));
+        // A score of zero removes question 1 from question 4's row
+        assertEquals(List.of(2), index.relatedIds(4, 10));
+        assertEquals(List.of(1, 3, 4), index.relatedIds(2, 10));
+    }
+
+    @Test
+    void removingTheLastTagDropsTheQuestionFromEveryRow() throws Exception {
+        build(10, Map.of(1, List.of(1, 2), 2, List.of(1, 2), 3, List.of(1)));
+
+        change(3);
+
+        assertEquals(List.of(), index.relatedIds(3, 10));
+        assertEquals(List.of(2), index.relatedIds(1, 10));
+        assertEquals(List.of(1), index.relatedIds(2, 10));
+    }
+
+    @Test
+    void deletingAQuestionDropsItFromEveryRow() throws Exception {
+        build(10, Map.of(1, List.of(1, 2), 2, List.of(1, 2), 3, List.of(1), 4, List.of(2)));
+
+        index.onQuestionChanged(QuestionChangedEvent.deleted(BANK, 2));
+        index.awaitUpdates();
+
+        assertEquals(List.of(), index.relatedIds(2, 10));
+        assertEquals(List.of(3, 4), index.relatedIds(1, 10));
+        assertEquals(List.of(1), index.relatedIds(3, 10));
+    }
+
+    @Test
+    void rowsStaySortedAndBoundedAsQuestionsArrive() throws Exception {
+        build(3, Map.of(1, List.of(1, 2), 2, List.of(1), 3, List.of(2)));
+
+        // Exact matches tie at 1.0 and sort by id, whatever order they arrive in
+        change(7, 1, 2);
+        change(6, 1, 2);
+        assertEquals(List.of(6, 7, 2), index.relatedIds(1, 10));
+
+        // A weaker candidate does not get into a full row
+        change(8, 1, 2, 3, 4);
+        assertEquals(List.of(6, 7, 2), index.relatedIds(1, 10));
+        assertEquals(List.of(1, 6, 7), index.relatedIds(8, 10));
+    }
+
+    private void build(int topK, Map<Integer, List<Integer>> tagsByQuestion) {
+        List<QuestionRepository.TagMembership> memberships = new ArrayList<>();
+        tagsByQuestion.forEach((questionId, tagIds) -> tagIds.forEach(tagId -> memberships.add(membership(questionId, tagId))));
+        when(questionRepository.findAllTagMemberships()).thenReturn(memberships);
+        index = new RelatedQuestionIndex(questionRepository, topK, 1);
+        index.warmUp();
+    }
+
+    private void change(int questionId, int... tagIds) throws Exception {
+        Map<Integer, String> tagNamesById = Arrays.stream(tagIds).boxed()
+                .collect(Collectors.toMap(Function.identity(), tagId -> "tag-" + tagId));
+        index.onQuestionChanged(new QuestionChangedEvent(BANK, questionId, DifficultyLevel.MEDIUM, tagNamesById, false));
+        index.awaitUpdates();
+    }
+
+    private static QuestionRepository.TagMembership membership(int questionId, int tagId) {
+        return new QuestionRepository.TagMembership() {
+            @Override
+            public Integer getQuestionId() {
+                return questionId;
+            }
+
+            @Override
+            public Integer getTagId() {
+                return tagId;
+            }
+        };
+    }
+}
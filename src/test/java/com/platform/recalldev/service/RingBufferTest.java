@@ -0,0 +1,152 @@
+package com.platform.recalldev.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+    @Test
+    void rejectsCapacityThatIsNotAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(6));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(1));
+    }
+
+    @Test
+    void pollReturnsNullWhenEmpty() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        assertNull(buffer.poll());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void offerFailsWhenFullUntilAnElementIsPolled() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+    }
+
+    @Test
+    void keepsFifoOrderAcrossWrapAround() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        // Three per round against a capacity of four, so every round starts at a different slot
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(expected++, buffer.poll());
+            }
+            assertNull(buffer.poll());
+        }
+        assertEquals(150, expected);
+    }
+
+    @Test
+    void drainToStopsAtMaxElements() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(2, buffer.drainTo(drained, 10));
+        assertEquals(0, buffer.drainTo(drained, 10));
+    }
+
+    @Test
+    void deliversEveryElementOnceWithSeveralProducersAndConsumers() throws Exception {
+        int producers = 4;
+        int consumers = 2;
+        int perProducer = 20_000;
+        // Small ring so producers keep hitting the full case and wrap constantly. Waiting threads
+        // yield rather than spin, or on a single core they starve the thread they wait for
+        RingBuffer<Long> buffer = new RingBuffer<>(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int p = 0; p < producers; p++) {
+                long producer = p;
+                executor.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < perProducer; i++) {
+                        long element = producer * perProducer + i;
+                        while (!buffer.offer(element)) {
+                            Thread.yield();
+                        }
+                    }
+                    return null;
+                });
+            }
+            int total = producers * perProducer;
+            CountDownLatch remaining = new CountDownLatch(total);
+            List<Future<long[]>> lastSeen = new ArrayList<>();
+            int[] received = new int[total];
+            for (int c = 0; c < consumers; c++) {
+                lastSeen.add(executor.submit(() -> {
+                    // Each producer's elements must come out in the order it offered them
+                    long[] last = new long[producers];
+                    Arrays.fill(last, -1);
+                    start.await();
+                    while (remaining.getCount() > 0) {
+                        Long element = buffer.poll();
+                        if (element == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        int producer = (int) (element / perProducer);
+                        long sequence = element % perProducer;
+                        if (sequence <= last[producer]) {
+                            throw new AssertionError("Out of order: " + element);
+                        }
+                        last[producer] = sequence;
+                        synchronized (received) {
+                            received[element.intValue()]++;
+                        }
+                        remaining.countDown();
+                    }
+                    return last;
+                }));
+            }
+
+            start.countDown();
+            assertTrue(remaining.await(30, TimeUnit.SECONDS), "Consumers did not receive every element");
+            for (Future<long[]> future : lastSeen) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            int[] once = new int[total];
+            Arrays.fill(once, 1);
+            assertArrayEquals(once, received);
+            assertNull(buffer.poll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}